@@ -0,0 +1,159 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.BinaryComponent;
+import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import io.netty.buffer.Unpooled;
+import net.fabricmc.fabric.api.util.NbtType;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.network.PacketByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the serialization of a 1000 slot inventory-like component, written as an NBT tree
+ * or as a {@link BinaryComponent}.
+ *
+ * <p>Saving and loading go through the container, like chunk and entity saves. Syncing writes the component's
+ * sync packet data, like the default {@link AutoSyncedComponent#writeSyncPacket} implementation.
+ * Run with the {@code gc} profiler to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BinaryComponentBenchmark {
+    private static final int SLOTS = 1_000;
+
+    @Param({"nbt", "binary"})
+    public String format;
+
+    private TestComponentContainer container;
+    private InventoryComponent inventory;
+    private NbtCompound saved;
+
+    @Setup
+    public void setup() {
+        this.container = new TestComponentContainer(owner -> this.format.equals("binary") ? new BinaryInventoryComponent() : new NbtInventoryComponent(), null);
+        this.inventory = (InventoryComponent) this.container.getByIndex(TestComponentContainer.EAGER.getRawIndex());
+
+        for (int i = 0; i < SLOTS; i++) {
+            this.inventory.items[i] = "minecraft:item_" + (i % 64);
+            this.inventory.counts[i] = 1 + i % 64;
+        }
+
+        this.saved = this.container.toTag(new NbtCompound());
+    }
+
+    @Benchmark
+    public NbtCompound save() {
+        return this.container.toTag(new NbtCompound());
+    }
+
+    @Benchmark
+    public TestComponentContainer load() {
+        this.container.fromTag(this.saved);
+        return this.container;
+    }
+
+    @Benchmark
+    public int sync() {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+
+        try {
+            this.inventory.writeSyncPacket(buf, null);
+            return buf.writerIndex();
+        } finally {
+            buf.release();
+        }
+    }
+
+    abstract static class InventoryComponent implements AutoSyncedComponent {
+        final String[] items = new String[SLOTS];
+        final int[] counts = new int[SLOTS];
+    }
+
+    static final class NbtInventoryComponent extends InventoryComponent {
+        @Override
+        public void readFromNbt(NbtCompound tag) {
+            NbtList slots = tag.getList("items", NbtType.COMPOUND);
+
+            for (int i = 0; i < slots.size() && i < SLOTS; i++) {
+                NbtCompound slot = slots.getCompound(i);
+                this.items[i] = slot.getString("id");
+                this.counts[i] = slot.getInt("Count");
+            }
+        }
+
+        @Override
+        public void writeToNbt(NbtCompound tag) {
+            NbtList slots = new NbtList();
+
+            for (int i = 0; i < SLOTS; i++) {
+                NbtCompound slot = new NbtCompound();
+                slot.putString("id", this.items[i]);
+                slot.putInt("Count", this.counts[i]);
+                slots.add(slot);
+            }
+
+            tag.put("items", slots);
+        }
+    }
+
+    static final class BinaryInventoryComponent extends InventoryComponent implements BinaryComponent {
+        @Override
+        public void readFromBuf(PacketByteBuf buf) {
+            int size = Math.min(buf.readVarInt(), SLOTS);
+
+            for (int i = 0; i < size; i++) {
+                this.items[i] = buf.readString();
+                this.counts[i] = buf.readVarInt();
+            }
+        }
+
+        @Override
+        public void writeToBuf(PacketByteBuf buf) {
+            buf.writeVarInt(SLOTS);
+
+            for (int i = 0; i < SLOTS; i++) {
+                buf.writeString(this.items[i]);
+                buf.writeVarInt(this.counts[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares component lookups through {@link ComponentKey#getRawIndex() raw indices} with the previous lookup path.
+ *
+ * <p>Previously, each key had its own generated subclass, which cast the container to the static container
+ * interface and called a dedicated getter. Generic code looping over keys therefore went through a megamorphic
+ * key call site, and then a megamorphic getter call site. Keys now share a single final method, which calls
+ * the {@code tableswitch} of the container's {@link AbstractComponentContainer#getByIndex(int)}.
+ *
+ * <p>Both paths look up every component of containers of several classes, like a sync loop over entities of different types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ComponentLookupBenchmark {
+    private static final List<ComponentKey<TestComponent>> INDEXED_KEYS = List.of(
+        TestComponentKeys.create("lookup_0", TestComponent.class, 0),
+        TestComponentKeys.create("lookup_1", TestComponent.class, 1),
+        TestComponentKeys.create("lookup_2", TestComponent.class, 2),
+        TestComponentKeys.create("lookup_3", TestComponent.class, 3)
+    );
+    private static final List<LegacyKey> LEGACY_KEYS = List.of(
+        new LegacyKey() {
+            @Override
+            Component getInternal(ComponentContainer container) {
+                return ((LookupContainer) container).get0();
+            }
+        },
+        new LegacyKey() {
+            @Override
+            Component getInternal(ComponentContainer container) {
+                return ((LookupContainer) container).get1();
+            }
+        },
+        new LegacyKey() {
+            @Override
+            Component getInternal(ComponentContainer container) {
+                return ((LookupContainer) container).get2();
+            }
+        },
+        new LegacyKey() {
+            @Override
+            Component getInternal(ComponentContainer container) {
+                return ((LookupContainer) container).get3();
+            }
+        }
+    );
+
+    private final List<ComponentContainer> containers = List.of(
+        new ContainerA(), new ContainerB(), new ContainerC(),
+        new ContainerA(), new ContainerB(), new ContainerC()
+    );
+
+    @Benchmark
+    public void indexSwitch(Blackhole blackhole) {
+        for (ComponentContainer container : this.containers) {
+            for (ComponentKey<TestComponent> key : INDEXED_KEYS) {
+                blackhole.consume(key.getInternal(container));
+            }
+        }
+    }
+
+    @Benchmark
+    public void perKeyGetter(Blackhole blackhole) {
+        for (ComponentContainer container : this.containers) {
+            for (LegacyKey key : LEGACY_KEYS) {
+                blackhole.consume(key.getInternal(container));
+            }
+        }
+    }
+
+    /**
+     * The shape of the key subclasses that used to be generated for each component id.
+     */
+    abstract static class LegacyKey {
+        abstract @Nullable Component getInternal(ComponentContainer container);
+    }
+
+    /**
+     * The shape of generated containers, with both the indexed getter and the previous dedicated getters.
+     */
+    abstract static class LookupContainer extends AbstractComponentContainer {
+        private static final ComponentKeySet KEYS = ComponentKeySet.of(INDEXED_KEYS);
+
+        protected final Component c0 = new TestComponent(this);
+        protected final Component c1 = new TestComponent(this);
+        protected final Component c2 = new TestComponent(this);
+        protected final Component c3 = new TestComponent(this);
+
+        abstract Component get0();
+
+        abstract Component get1();
+
+        abstract Component get2();
+
+        abstract Component get3();
+
+        @Override
+        public ComponentKeySet keys() {
+            return KEYS;
+        }
+
+        @Override
+        public <T> void forEachComponent(ComponentVisitor<T> visitor, T context) {
+            for (ComponentKey<TestComponent> key : INDEXED_KEYS) {
+                visitor.visit(context, key, this.getByIndex(key.getRawIndex()));
+            }
+        }
+
+        @Override
+        public void tickAsyncServerComponents() {
+            // NO-OP
+        }
+
+        @Override
+        public boolean hasComponents() {
+            return true;
+        }
+
+        @Override
+        public void tickServerComponents() {
+            // NO-OP
+        }
+
+        @Override
+        public void tickClientComponents() {
+            // NO-OP
+        }
+
+        @Override
+        public boolean hasServerTickingComponents() {
+            return false;
+        }
+
+        @Override
+        public boolean hasClientTickingComponents() {
+            return false;
+        }
+    }
+
+    static final class ContainerA extends LookupContainer {
+        @Override
+        public @Nullable Component getByIndex(int rawIndex) {
+            return switch (rawIndex) {
+                case 0 -> this.c0;
+                case 1 -> this.c1;
+                case 2 -> this.c2;
+                case 3 -> this.c3;
+                default -> null;
+            };
+        }
+
+        @Override
+        Component get0() {
+            return this.c0;
+        }
+
+        @Override
+        Component get1() {
+            return this.c1;
+        }
+
+        @Override
+        Component get2() {
+            return this.c2;
+        }
+
+        @Override
+        Component get3() {
+            return this.c3;
+        }
+    }
+
+    static final class ContainerB extends LookupContainer {
+        @Override
+        public @Nullable Component getByIndex(int rawIndex) {
+            return switch (rawIndex) {
+                case 0 -> this.c0;
+                case 1 -> this.c1;
+                case 2 -> this.c2;
+                case 3 -> this.c3;
+                default -> null;
+            };
+        }
+
+        @Override
+        Component get0() {
+            return this.c0;
+        }
+
+        @Override
+        Component get1() {
+            return this.c1;
+        }
+
+        @Override
+        Component get2() {
+            return this.c2;
+        }
+
+        @Override
+        Component get3() {
+            return this.c3;
+        }
+    }
+
+    static final class ContainerC extends LookupContainer {
+        @Override
+        public @Nullable Component getByIndex(int rawIndex) {
+            return switch (rawIndex) {
+                case 0 -> this.c0;
+                case 1 -> this.c1;
+                case 2 -> this.c2;
+                case 3 -> this.c3;
+                default -> null;
+            };
+        }
+
+        @Override
+        Component get0() {
+            return this.c0;
+        }
+
+        @Override
+        Component get1() {
+            return this.c1;
+        }
+
+        @Override
+        Component get2() {
+            return this.c2;
+        }
+
+        @Override
+        Component get3() {
+            return this.c3;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component;
+
+import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import io.netty.buffer.Unpooled;
+import net.fabricmc.fabric.api.util.NbtType;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+
+/**
+ * A component that serializes itself to a compact binary form instead of an NBT tree.
+ *
+ * <p>When attached to a provider, the binary data is stored as a single {@code NbtByteArray}
+ * in place of the usual {@link NbtCompound}, skipping the intermediate tag allocations.
+ * If the component is also an {@link AutoSyncedComponent}, the default
+ * {@linkplain AutoSyncedComponent#writeSyncPacket(PacketByteBuf, ServerPlayerEntity) sync packet implementation}
+ * streams the same data directly into the packet buffer.
+ *
+ * @since 4.3.0
+ */
+@ApiStatus.Experimental
+public interface BinaryComponent extends Component {
+    /**
+     * The NBT key used by the default {@link #readFromNbt(NbtCompound)} and {@link #writeToNbt(NbtCompound)} implementations.
+     */
+    String BINARY_DATA_KEY = "cardinal_components:binary";
+
+    /**
+     * Reads this component's data from {@code buf}.
+     *
+     * @param buf a buffer on which this component's data has been written by {@link #writeToBuf(PacketByteBuf)}
+     * @implNote implementations should not assert that the data written on the buffer corresponds to any
+     * specific scheme, as saved data is susceptible to external tempering, and may come from an earlier
+     * version.
+     */
+    @Contract(mutates = "this")
+    void readFromBuf(PacketByteBuf buf);
+
+    /**
+     * Writes this component's data to {@code buf}.
+     *
+     * <p>Writing no bytes is equivalent to writing an empty NBT compound: nothing gets saved for this component.
+     *
+     * @param buf a buffer on which to write this component's data
+     */
+    @Contract(mutates = "param")
+    void writeToBuf(PacketByteBuf buf);
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The default implementation reads a byte array stored under {@link #BINARY_DATA_KEY},
+     * and passes it to {@link #readFromBuf(PacketByteBuf)}.
+     */
+    @Override
+    default void readFromNbt(NbtCompound tag) {
+        if (tag.contains(BINARY_DATA_KEY, NbtType.BYTE_ARRAY)) {
+            this.readFromBuf(new PacketByteBuf(Unpooled.wrappedBuffer(tag.getByteArray(BINARY_DATA_KEY))));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The default implementation calls {@link #writeToBuf(PacketByteBuf)} and stores
+     * the resulting bytes under {@link #BINARY_DATA_KEY}.
+     */
+    @Override
+    default void writeToNbt(NbtCompound tag) {
+        byte[] data = toByteArray(this);
+
+        if (data.length > 0) {
+            tag.putByteArray(BINARY_DATA_KEY, data);
+        }
+    }
+
+    /**
+     * Serializes a binary component to a new byte array.
+     *
+     * @param component the component to serialize
+     * @return the bytes written by {@link #writeToBuf(PacketByteBuf)}
+     */
+    static byte[] toByteArray(BinaryComponent component) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+
+        try {
+            component.writeToBuf(buf);
+            byte[] data = new byte[buf.readableBytes()];
+            buf.readBytes(data);
+            return data;
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -23,6 +23,8 @@
 package dev.onyxstudios.cca.api.v3.component;
 
 
+import dev.onyxstudios.cca.api.v3.component.tick.ClientTickingComponent;
+import dev.onyxstudios.cca.api.v3.component.tick.ServerTickingComponent;
 import dev.onyxstudios.cca.api.v3.util.NbtSerializable;
 import dev.onyxstudios.cca.internal.base.GenericContainerBuilder;
 import dev.onyxstudios.cca.internal.base.asm.StaticComponentPluginBase;
@@ -34,6 +36,7 @@ import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * An opaque container for components.
@@ -51,6 +54,15 @@ public interface ComponentContainer extends NbtSerializable {
     @Contract(pure = true)
     boolean hasComponents();
 
+    /**
+     * Performs the given action for each component in this container, in the same order as {@link #keys()}.
+     *
+     * @param action the action to be performed for each component
+     * @since 4.3.0
+     */
+    @ApiStatus.Experimental
+    void forEachComponent(BiConsumer<? super ComponentKey<?>, ? super Component> action);
+
     @Contract(mutates = "this")
     void copyFrom(ComponentContainer other);
 
@@ -58,6 +70,30 @@ public interface ComponentContainer extends NbtSerializable {
 
     void tickClientComponents();
 
+    /**
+     * Checks whether {@link #tickServerComponents()} can do anything for this container.
+     *
+     * <p>Providers may use this to avoid calling the tick method every tick when none of their
+     * components is ticking.
+     *
+     * @return {@code true} if this container holds at least one {@link ServerTickingComponent}
+     * @since 4.3.0
+     */
+    @ApiStatus.Experimental
+    @Contract(pure = true)
+    boolean hasServerTickingComponents();
+
+    /**
+     * Checks whether {@link #tickClientComponents()} can do anything for this container.
+     *
+     * @return {@code true} if this container holds at least one {@link ClientTickingComponent}
+     * @since 4.3.0
+     * @see #hasServerTickingComponents()
+     */
+    @ApiStatus.Experimental
+    @Contract(pure = true)
+    boolean hasClientTickingComponents();
+
     /**
      * Reads this object's properties from a {@link NbtCompound}.
      *
@@ -24,15 +24,23 @@ package dev.onyxstudios.cca.api.v3.component;
 
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.api.v3.component.sync.DeltaSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.PlayerSyncPredicate;
+import dev.onyxstudios.cca.api.v3.component.sync.RecipientAgnosticSyncedComponent;
+import dev.onyxstudios.cca.internal.base.AbstractComponentContainer;
+import dev.onyxstudios.cca.internal.base.ComponentSyncScheduler;
+import dev.onyxstudios.cca.internal.base.DeltaSyncTracker;
+import dev.onyxstudios.cca.internal.base.ComponentsBaseNetworking;
 import dev.onyxstudios.cca.internal.base.asm.CcaBootstrap;
 import net.minecraft.network.Packet;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -57,6 +65,49 @@ public abstract class ComponentKey<C extends Component> {
         return this.componentClass;
     }
 
+    /**
+     * Returns a dense integer index for this key, assigned at bootstrap.
+     *
+     * <p>Generated component containers resolve components through this index
+     * using a single switch, instead of a dedicated getter per key.
+     *
+     * <p>Indices are unique among registered keys and range from {@code 0} to the number of
+     * statically declared component ids (exclusive). They are not stable across game restarts
+     * or mod list changes, and must therefore never be persisted.
+     *
+     * @return the raw index of this key
+     */
+    @ApiStatus.Internal
+    public final int getRawIndex() {
+        return this.rawIndex;
+    }
+
+    /**
+     * Returns the string form of this key's {@linkplain #getId() identifier}.
+     *
+     * <p>The returned string is computed once and interned, so that it can be used
+     * as an NBT key without allocating on every save.
+     *
+     * @return the interned string representation of this key's id
+     */
+    @ApiStatus.Internal
+    public final String getStringId() {
+        return this.stringId;
+    }
+
+    /**
+     * Writes this key's identifier to {@code buf}, in the same format as {@link PacketByteBuf#writeIdentifier(Identifier)}.
+     *
+     * <p>The UTF-8 encoding of the identifier is computed once, so this method only copies bytes.
+     *
+     * @param buf the buffer to write the identifier to
+     */
+    @ApiStatus.Internal
+    public final void writeIdTo(PacketByteBuf buf) {
+        buf.writeVarInt(this.encodedId.length);
+        buf.writeBytes(this.encodedId);
+    }
+
     /**
      * @param provider a component provider
      * @return the attached component associated with this key, or
@@ -157,6 +208,10 @@ public abstract class ComponentKey<C extends Component> {
      * <p>This method has no visible effect if the given provider does not support synchronization, or
      * the associated component does not implement an adequate synchronization interface.
      *
+     * <p>If {@code packetWriter} is a {@link RecipientAgnosticSyncedComponent}, the sync packet is only
+     * written once, and shared between every recipient. {@link DeltaSyncedComponent}s are always written
+     * separately for each recipient, as their deltas depend on the revision each of them holds.
+     *
      * @param <V>          the class of the component provider
      * @param provider     a component provider
      * @param packetWriter a writer for the sync packet
@@ -166,11 +221,69 @@ public abstract class ComponentKey<C extends Component> {
      */
     public <V> void sync(V provider, ComponentPacketWriter packetWriter, PlayerSyncPredicate predicate) {
         ComponentProvider prov = (ComponentProvider) provider;
+
+        if (packetWriter instanceof RecipientAgnosticSyncedComponent && !(packetWriter instanceof DeltaSyncedComponent)) {
+            this.syncShared(prov, packetWriter, predicate);
+            return;
+        }
+
         for (Iterator<ServerPlayerEntity> it = prov.getRecipientsForComponentSync(); it.hasNext();) {
             this.syncWith(it.next(), prov, packetWriter, predicate);
         }
     }
 
+    /**
+     * Writes a single sync packet, and sends it to every recipient accepted by {@code predicate}.
+     *
+     * <p>Local connections do not serialize packets, so they get their own copy.
+     */
+    private void syncShared(ComponentProvider provider, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
+        Packet<?> shared = null;
+
+        for (Iterator<ServerPlayerEntity> it = provider.getRecipientsForComponentSync(); it.hasNext();) {
+            ServerPlayerEntity player = it.next();
+
+            if (!predicate.shouldSyncWith(player)) continue;
+
+            if (player.networkHandler.connection.isLocal()) {
+                this.syncWith(player, provider, writer, predicate);
+                continue;
+            }
+
+            if (shared == null) {
+                shared = provider.toComponentPacket(this, writer, player);
+
+                if (shared == null) return;
+            } else {
+                ComponentsBaseNetworking.sendKeyTable(player);
+            }
+
+            player.networkHandler.sendPacket(shared);
+        }
+    }
+
+    /**
+     * Schedules a synchronization of the component attached to the given provider at the end of the current server tick.
+     *
+     * <p>Unlike {@link #sync(Object)}, calling this method several times during the same tick for the same
+     * provider results in a single synchronization. This method may also be called from
+     * {@linkplain dev.onyxstudios.cca.api.v3.component.tick.AsyncServerTickingComponent async ticking components},
+     * whose calls are merged at the end of the current tick. Calls made on the client, or on any other thread,
+     * are ignored.
+     *
+     * @param provider a component provider
+     * @param <V>      the class of the component provider
+     * @throws NoSuchElementException if the provider does not provide this type of component
+     * @throws ClassCastException     if <code>provider</code> does not implement {@link ComponentProvider}
+     * @since 4.3.0
+     */
+    @ApiStatus.Experimental
+    public <V> void markDirty(V provider) {
+        if (this.get(provider) instanceof AutoSyncedComponent) {
+            ComponentSyncScheduler.markDirty(this, (ComponentProvider) provider);
+        }
+    }
+
     /**
      * Attempts to synchronize the component attached to the given provider with the given {@code player}.
      *
@@ -192,6 +305,10 @@ public abstract class ComponentKey<C extends Component> {
     @ApiStatus.Experimental
     public void syncWith(ServerPlayerEntity player, ComponentProvider provider, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
         if (predicate.shouldSyncWith(player)) {
+            if (writer instanceof DeltaSyncedComponent delta) {
+                DeltaSyncTracker.recordSource(delta, this, provider);
+            }
+
             Packet<?> packet = provider.toComponentPacket(this, writer, player);
 
             if (packet != null) {
@@ -209,7 +326,10 @@ public abstract class ComponentKey<C extends Component> {
 
 
     private final Identifier id;
+    private final String stringId;
+    private final byte[] encodedId;
     private final Class<C> componentClass;
+    private final int rawIndex;
 
     /**
      * Constructs a new immutable ComponentType
@@ -217,10 +337,13 @@ public abstract class ComponentKey<C extends Component> {
      * @see ComponentRegistryV3#getOrCreate(Identifier, Class)
      */
     @ApiStatus.Internal
-    protected ComponentKey(Identifier id, Class<C> componentClass) {
+    protected ComponentKey(Identifier id, Class<C> componentClass, int rawIndex) {
         if (!CcaBootstrap.INSTANCE.isGenerated(this.getClass())) throw new IllegalStateException();
         this.componentClass = componentClass;
         this.id = id;
+        this.stringId = id.toString().intern();
+        this.encodedId = this.stringId.getBytes(StandardCharsets.UTF_8);
+        this.rawIndex = rawIndex;
     }
 
     /**
@@ -230,10 +353,12 @@ public abstract class ComponentKey<C extends Component> {
      * @see #get(Object)
      * @see #maybeGet(Object)
      */
-    // overridden by generated types
     @Contract(pure = true)
     @ApiStatus.Internal
-    public abstract @Nullable C getInternal(ComponentContainer container);
+    public final @Nullable C getInternal(ComponentContainer container) {
+        @SuppressWarnings("unchecked") C component = (C) ((AbstractComponentContainer) container).getByIndex(this.rawIndex);
+        return component;
+    }
 
     @ApiStatus.Internal
     public C getFromContainer(ComponentContainer container) {
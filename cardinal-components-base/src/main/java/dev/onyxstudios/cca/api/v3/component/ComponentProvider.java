@@ -191,6 +191,25 @@ public interface ComponentProvider {
         return toComponentPacket(PacketByteBufs.create(), key, writer, recipient);
     }
 
+    /**
+     * Produces a single sync packet for every component of this provider that should be synchronized with {@code recipient}.
+     *
+     * <p>This is used when a player starts tracking a provider, to avoid sending one packet per component.
+     * Providers that do not override this method get each of their components synchronized through
+     * {@link #toComponentPacket(ComponentKey, ComponentPacketWriter, ServerPlayerEntity)} instead.
+     *
+     * @param recipient the player receiving the packet
+     * @return a {@link net.minecraft.network.Packet} that has all the information required to sync
+     * the provider's components, or {@code null} if no component needs to be synchronized
+     * @implSpec The default implementation returns {@code null}
+     * @since 4.3.0
+     */
+    @ApiStatus.Experimental
+    @Nullable
+    default CustomPayloadS2CPacket toComponentPacket(ServerPlayerEntity recipient) {
+        return null;
+    }
+
     /**
      * @deprecated override/call {@link #toComponentPacket(ComponentKey, ComponentPacketWriter, ServerPlayerEntity)} instead
      */
@@ -36,6 +36,9 @@ import java.util.stream.Stream;
  * <p> A {@code ComponentRegistry} is used for registering components and obtaining
  * {@link ComponentKey} instances serving as keys for those components.
  *
+ * <p>Lookups never block, and can be made from any thread. Registrations are thread-safe,
+ * each of them publishing a new immutable snapshot of the registry.
+ *
  * @see Component
  * @see ComponentKey
  * @since 2.7.0
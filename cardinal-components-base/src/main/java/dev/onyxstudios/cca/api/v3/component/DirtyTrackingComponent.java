@@ -0,0 +1,61 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A component that keeps track of changes to its saved data.
+ *
+ * <p>Some providers, like worlds, save their components in a separate file. Without dirty tracking,
+ * that file gets written on every save, whether its content changed or not. If every component of such
+ * a provider implements this interface, the file only gets written when at least one of them
+ * reports a new revision.
+ *
+ * <p>Example code:
+ * <pre>{@code
+ * public void setValue(int value) {
+ *      this.value = value;
+ *      this.saveRevision++;
+ * }
+ *
+ * @Override
+ * public long getSaveRevision() {
+ *      return this.saveRevision;
+ * }
+ * }</pre>
+ *
+ * @since 4.3.0
+ */
+@ApiStatus.Experimental
+public interface DirtyTrackingComponent extends Component {
+    /**
+     * Returns a counter of the changes made to this component's saved data.
+     *
+     * <p>The returned value must increase every time the data written by {@link #writeToNbt} changes,
+     * and must never decrease.
+     *
+     * @return the current revision of this component's saved data
+     */
+    long getSaveRevision();
+}
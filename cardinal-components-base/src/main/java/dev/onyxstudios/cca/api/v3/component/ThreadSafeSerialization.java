@@ -0,0 +1,67 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component;
+
+import net.minecraft.nbt.NbtCompound;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a component whose serialization can safely happen outside of the server thread.
+ *
+ * <p>Some providers, like chunks, may be loaded and saved by worker threads, concurrently with the server thread.
+ * When such a provider gets loaded outside of the server thread, the saved data of components that are not annotated
+ * is kept as-is, and only read later on the server thread. Annotated components read their data right away.
+ *
+ * <p>By using this annotation, a component guarantees that {@link Component#readFromNbt(NbtCompound)} and
+ * {@link Component#writeToNbt(NbtCompound)}, or the equivalent {@link BinaryComponent} methods, can be called
+ * from any thread, including while the server thread uses the component. Such methods must not access
+ * the world or other game state, and must guard the component's own state, for example by locking
+ * or by serializing an immutable snapshot.
+ *
+ * <p>When a provider gets saved outside of the server thread, components that are not annotated are written from
+ * a snapshot of their data, taken on the server thread when the save was requested. Snapshots are only taken
+ * once a first off-thread save has been seen, and only for chunks saved through the vanilla chunk storage.
+ * Components without a snapshot, like those saved by that first off-thread save or by other save paths,
+ * still get serialized on the saving thread, concurrently with the server thread. A warning is logged
+ * the first time this happens for a component class. Annotating a component is the only way to make
+ * its serialization safe in every case.
+ *
+ * <p>This annotation must be present on the implementation class of the component. {@link TransientComponent}s,
+ * which hold no data, are always considered safe.
+ *
+ * @since 4.3.0
+ */
+@ApiStatus.Experimental
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ThreadSafeSerialization {
+}
@@ -0,0 +1,43 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component.primitive;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A component holding a single {@code float} value, stored directly in the component container of its provider.
+ *
+ * <p>Instances are obtained through a component key, and are only views over the provider's storage.
+ * They should not be kept around, nor compared by identity.
+ *
+ * @see PrimitiveComponents#floatStorage(float, boolean)
+ * @since 4.3.0
+ */
+@ApiStatus.Experimental
+@ApiStatus.NonExtendable
+public interface FloatComponent extends Component {
+    float getFloat();
+
+    void setFloat(float value);
+}
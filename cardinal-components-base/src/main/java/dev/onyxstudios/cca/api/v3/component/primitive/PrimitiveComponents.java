@@ -0,0 +1,84 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component.primitive;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentFactory;
+import dev.onyxstudios.cca.internal.base.PrimitiveComponentFactory;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Factories for components holding a single primitive value.
+ *
+ * <p>Components created through these factories do not exist as separate objects. Their value is stored
+ * in a primitive field of the component container, which saves the memory of a component object and its
+ * reference for every provider. This matters for simple numeric data attached to a large number of providers,
+ * like a timer on every living entity.
+ *
+ * <p>Retrieving such a component returns a small view object over the container's field. The container creates
+ * that view the first time the component is accessed, including when it gets saved or synchronized,
+ * and reuses it afterwards.
+ *
+ * <p>Primitive components get saved, copied and synchronized like any other component.
+ * Only synced components are sent to clients.
+ *
+ * <p>Example code:
+ * <pre>{@code
+ * public static final ComponentKey<FloatComponent> THIRST =
+ *      ComponentRegistry.getOrCreate(new Identifier("mymod:thirst"), FloatComponent.class);
+ *
+ * public void registerEntityComponentFactories(EntityComponentFactoryRegistry registry) {
+ *      registry.registerFor(LivingEntity.class, THIRST, PrimitiveComponents.floatStorage(20f, true));
+ * }
+ * }</pre>
+ *
+ * @since 4.3.0
+ */
+@ApiStatus.Experimental
+public final class PrimitiveComponents {
+    /**
+     * @param defaultValue the value of the component for new providers, or when no value was saved
+     * @param synced       {@code true} if the value should be synchronized with players watching the provider
+     * @return a factory for components holding a single {@code float}
+     */
+    public static <T> ComponentFactory<T, FloatComponent> floatStorage(float defaultValue, boolean synced) {
+        return new PrimitiveComponentFactory<>(PrimitiveComponentFactory.Kind.FLOAT, defaultValue, synced);
+    }
+
+    /**
+     * @param defaultValue the value of the component for new providers, or when no value was saved
+     * @param synced       {@code true} if the value should be synchronized with players watching the provider
+     * @return a factory for components holding a single {@code int}
+     */
+    public static <T> ComponentFactory<T, IntComponent> intStorage(int defaultValue, boolean synced) {
+        return new PrimitiveComponentFactory<>(PrimitiveComponentFactory.Kind.INT, defaultValue, synced);
+    }
+
+    /**
+     * @param defaultValue the value of the component for new providers, or when no value was saved
+     * @param synced       {@code true} if the value should be synchronized with players watching the provider
+     * @return a factory for components holding a single {@code long}
+     */
+    public static <T> ComponentFactory<T, LongComponent> longStorage(long defaultValue, boolean synced) {
+        return new PrimitiveComponentFactory<>(PrimitiveComponentFactory.Kind.LONG, defaultValue, synced);
+    }
+}
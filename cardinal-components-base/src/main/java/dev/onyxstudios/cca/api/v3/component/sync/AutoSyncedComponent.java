@@ -23,6 +23,7 @@
 package dev.onyxstudios.cca.api.v3.component.sync;
 
 
+import dev.onyxstudios.cca.api.v3.component.BinaryComponent;
 import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import net.minecraft.entity.Entity;
@@ -67,6 +68,8 @@ public interface AutoSyncedComponent extends Component, ComponentPacketWriter, P
      * @param recipient the player to which the packet will be sent
      * @implSpec The default implementation writes the whole NBT representation
      * of this component to the buffer using {@link #writeToNbt(NbtCompound)}.
+     * If this component is a {@link BinaryComponent}, it instead writes its data
+     * directly to the buffer using {@link BinaryComponent#writeToBuf(PacketByteBuf)}.
      * @implNote The default implementation should generally be overridden.
      * The serialization done by the default implementation sends possibly hidden
      * information to clients, uses a wasteful data format, and does not support
@@ -79,6 +82,11 @@ public interface AutoSyncedComponent extends Component, ComponentPacketWriter, P
     @Contract(mutates = "param1")
     @Override
     default void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        if (this instanceof BinaryComponent) {
+            ((BinaryComponent) this).writeToBuf(buf);
+            return;
+        }
+
         NbtCompound tag = new NbtCompound();
         this.writeToNbt(tag);
         buf.writeNbt(tag);
@@ -88,12 +96,19 @@ public interface AutoSyncedComponent extends Component, ComponentPacketWriter, P
      * Reads this component's data from {@code buf}.
      *
      * @implSpec The default implementation converts the buffer's content
-     * to a {@link NbtCompound} and calls {@link #readFromNbt(NbtCompound)}.
+     * to a {@link NbtCompound} and calls {@link #readFromNbt(NbtCompound)},
+     * or calls {@link BinaryComponent#readFromBuf(PacketByteBuf)} if this component
+     * is a {@link BinaryComponent}.
      * @implNote any implementing class overriding {@link #writeSyncPacket(PacketByteBuf, ServerPlayerEntity)}
      * such that it uses a different data format must override this method.
      * @see #writeSyncPacket(PacketByteBuf, ServerPlayerEntity)
      */
     default void applySyncPacket(PacketByteBuf buf) {
+        if (this instanceof BinaryComponent) {
+            ((BinaryComponent) this).readFromBuf(buf);
+            return;
+        }
+
         NbtCompound tag = buf.readNbt();
         if (tag != null) {
             this.readFromNbt(tag);
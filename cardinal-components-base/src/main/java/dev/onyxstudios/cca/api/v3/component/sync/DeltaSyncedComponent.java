@@ -0,0 +1,118 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component.sync;
+
+import dev.onyxstudios.cca.internal.base.DeltaSyncTracker;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+
+/**
+ * An {@link AutoSyncedComponent} that can synchronize incremental changes instead of its whole state.
+ *
+ * <p>The server remembers, for each player, the last {@linkplain #getSyncRevision() revision} it sent them.
+ * Subsequent syncs only write the changes made since that revision, through {@link #writeDelta(PacketByteBuf, int, ServerPlayerEntity)}.
+ * A full snapshot is sent instead when the player has not received any revision of this component yet,
+ * when a player starts tracking the component's provider, or when {@code writeDelta} reports that
+ * it cannot describe the requested changes.
+ *
+ * <p>If a client receives a delta that does not apply to the revision it holds, it discards it
+ * and asks the server for full snapshots on the next syncs.
+ *
+ * <p>Because their output depends on the recipient, delta synced components are never synced through
+ * a packet shared between recipients, even if they implement {@link RecipientAgnosticSyncedComponent}.
+ *
+ * @since 4.3.0
+ */
+@ApiStatus.Experimental
+public interface DeltaSyncedComponent extends AutoSyncedComponent {
+    /**
+     * Returns the revision of this component's synchronized state.
+     *
+     * <p>The revision must change every time the synchronized state changes, typically by incrementing a counter.
+     *
+     * @return the current revision of this component
+     */
+    int getSyncRevision();
+
+    /**
+     * Writes the changes made to this component since {@code baseRevision}.
+     *
+     * @param buf          the buffer to write the data to
+     * @param baseRevision the last revision that was sent to {@code recipient}
+     * @param recipient    the player to which the packet will be sent
+     * @return {@code true} if the changes were written, or {@code false} if a full snapshot must be sent instead
+     * (eg. if this component no longer remembers changes since {@code baseRevision})
+     */
+    @Contract(mutates = "param1")
+    boolean writeDelta(PacketByteBuf buf, int baseRevision, ServerPlayerEntity recipient);
+
+    /**
+     * Applies changes written by {@link #writeDelta(PacketByteBuf, int, ServerPlayerEntity)}.
+     *
+     * @param buf the buffer to read the data from
+     */
+    void applyDelta(PacketByteBuf buf);
+
+    /**
+     * Writes this component's whole synchronized state to {@code buf}.
+     *
+     * @implSpec The default implementation uses {@link AutoSyncedComponent}'s default sync packet format.
+     */
+    @Contract(mutates = "param1")
+    default void writeSnapshot(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        AutoSyncedComponent.super.writeSyncPacket(buf, recipient);
+    }
+
+    /**
+     * Reads a full snapshot written by {@link #writeSnapshot(PacketByteBuf, ServerPlayerEntity)}.
+     *
+     * @implSpec The default implementation uses {@link AutoSyncedComponent}'s default sync packet format.
+     */
+    default void applySnapshot(PacketByteBuf buf) {
+        AutoSyncedComponent.super.applySyncPacket(buf);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The default implementation writes either a delta or a full snapshot,
+     * depending on the last revision sent to {@code recipient}. It should not be overridden.
+     */
+    @Override
+    default void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        DeltaSyncTracker.writeSyncPacket(this, buf, recipient);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The default implementation reads data written by the default
+     * {@link #writeSyncPacket(PacketByteBuf, ServerPlayerEntity)}. It should not be overridden.
+     */
+    @Override
+    default void applySyncPacket(PacketByteBuf buf) {
+        DeltaSyncTracker.applySyncPacket(this, buf);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component.sync;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * An {@link AutoSyncedComponent} which sync packets do not depend on their recipient.
+ *
+ * <p>Implementations of {@link #writeSyncPacket(PacketByteBuf, ServerPlayerEntity)} <strong>must</strong>
+ * write the same data regardless of the {@code recipient} argument. This lets {@link ComponentKey#sync(Object)}
+ * serialize the component once and send the resulting packet to every player tracking its provider.
+ *
+ * <p>Filtering recipients through {@link #shouldSyncWith(ServerPlayerEntity)} is still supported.
+ *
+ * @since 4.3.0
+ */
+@ApiStatus.Experimental
+public interface RecipientAgnosticSyncedComponent extends AutoSyncedComponent {
+}
@@ -0,0 +1,56 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component.tick;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentRegistryV3;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A component that gets ticked on the server alongside the provider it is attached to, outside the server thread.
+ *
+ * <p>Async ticks of every provider ticked during a server tick are run in parallel on a dedicated worker pool,
+ * after every world has been ticked. The server thread waits for all of them to complete before moving on,
+ * so they never overlap with component synchronization or saving. A component only gets an async tick
+ * on the server ticks where its provider is ticked.
+ *
+ * <p>Implementations must only read and write state that belongs to the component itself. In particular,
+ * they must not access the provider, the world, or other components, and must not call methods like
+ * {@link ComponentKey#sync(Object)} or {@link ComponentKey#markDirty(Object)}. Components that need to publish
+ * the results of their async tick can also implement {@link ServerTickingComponent}, which always runs on the
+ * server thread.
+ *
+ * <p>This interface must be visible at factory registration time - which means the class implementing it
+ * must either be the parameter to {@link ComponentRegistryV3#getOrCreate(Identifier, Class)} or declared explicitly
+ * using a dedicated method on the factory registry.
+ *
+ * @see ServerTickingComponent
+ * @see TickInterval
+ * @since 4.3.0
+ */
+@ApiStatus.Experimental
+public interface AsyncServerTickingComponent extends Component {
+    void asyncServerTick();
+}
@@ -0,0 +1,84 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component.tick;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.internal.base.ComponentSystemBatch;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.List;
+
+/**
+ * A system that ticks every instance of a component type in a single call.
+ *
+ * <p>Instead of ticking each component from its own provider, the components of a key with a registered system
+ * are collected while their providers tick. The system then receives all of them at once, after every world
+ * has been ticked and on the server thread. Iterating over instances of a single component type in a tight loop
+ * keeps the same code and data hot, which matters when a component type has tens of thousands of instances.
+ *
+ * <p>A system gets called at most once per server tick, with the components of every provider that ticked
+ * during that tick. It is not called on ticks where no such provider ticked. Components that implement
+ * {@link ServerTickingComponent} still get their regular tick as well.
+ *
+ * @param <C> the type of components ticked by this system
+ * @since 4.3.0
+ */
+@ApiStatus.Experimental
+@FunctionalInterface
+public interface ComponentSystem<C extends Component> {
+    /**
+     * Ticks a batch of components.
+     *
+     * @param components the components to tick, only valid for the duration of the call
+     */
+    void tick(List<? extends C> components);
+
+    /**
+     * Registers a system ticking every instance of a component type on the server thread.
+     *
+     * <p>Systems must be registered before any container holding components of the given key gets created,
+     * typically from a component initializer.
+     *
+     * @throws IllegalStateException if a system is already registered for {@code key},
+     *                               or if containers with components of that type have already been created
+     */
+    static <C extends Component> void register(ComponentKey<C> key, ComponentSystem<? super C> system) {
+        ComponentSystemBatch.register(key, system, false);
+    }
+
+    /**
+     * Registers a system ticking every instance of a component type in parallel.
+     *
+     * <p>Components are split into several batches, which the system ticks concurrently on worker threads.
+     * Each component belongs to a single batch. The server thread waits for every batch to be ticked.
+     * The same restrictions as for {@link AsyncServerTickingComponent} apply to the system.
+     *
+     * @throws IllegalStateException if a system is already registered for {@code key},
+     *                               or if containers with components of that type have already been created
+     * @see #register(ComponentKey, ComponentSystem)
+     */
+    static <C extends Component> void registerParallel(ComponentKey<C> key, ComponentSystem<? super C> system) {
+        ComponentSystemBatch.register(key, system, true);
+    }
+}
@@ -22,17 +22,28 @@
  */
 package dev.onyxstudios.cca.internal.base;
 
+import dev.onyxstudios.cca.api.v3.component.BinaryComponent;
 import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
 import dev.onyxstudios.cca.api.v3.component.CopyableComponent;
+import dev.onyxstudios.cca.api.v3.component.tick.AsyncServerTickingComponent;
+import dev.onyxstudios.cca.api.v3.component.tick.TickInterval;
+import io.netty.buffer.Unpooled;
 import net.fabricmc.fabric.api.util.NbtType;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtList;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 /**
  * Implementing class for {@link ComponentContainer}.
@@ -41,22 +52,211 @@ public abstract class AbstractComponentContainer implements ComponentContainer {
 
     public static final String NBT_KEY = "cardinal_components";
 
+    private static final ComponentVisitor<BiConsumer<? super ComponentKey<?>, ? super Component>> BI_CONSUMER_VISITOR = (action, key, component) -> action.accept(key, component);
+    private static final ComponentVisitor<AbstractComponentContainer> COPY_VISITOR = AbstractComponentContainer::copyComponent;
+    private static final ComponentVisitor<NbtCompound> WRITE_VISITOR = AbstractComponentContainer::writeComponent;
+    private static final ComponentVisitor<NbtCompound> SNAPSHOT_VISITOR = AbstractComponentContainer::snapshotComponent;
+    private static final ComponentVisitor<OffThreadWrite> OFF_THREAD_WRITE_VISITOR = AbstractComponentContainer::writeComponentOffThread;
+    private static final ComponentVisitor<StringBuilder> TO_STRING_VISITOR = AbstractComponentContainer::appendComponent;
+    private static final AtomicInteger NEXT_TICK_PHASE = new AtomicInteger();
+
+    /**
+     * Whether this container is waiting for its async tick, only accessed by {@link AsyncServerTickPhase}
+     */
+    boolean asyncTickScheduled;
+
+    /**
+     * Saved data that was not read yet, indexed by component id. Each update replaces the whole compound,
+     * so that a container being saved by a worker thread always sees a consistent map. Updates are made
+     * while holding this container's lock, which lazy components also hold while being created.
+     *
+     * @see #fromTagDeferred(NbtCompound, boolean)
+     */
+    private volatile @Nullable NbtCompound deferredData;
+
+    /**
+     * Counter of the changes made to this container's primitive components, incremented by generated setters
+     *
+     * @see PrimitiveComponentView#getSaveRevision()
+     */
+    private long primitiveSaveRevision;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote generated implementations return a shared {@link ComponentKeySet},
+     * allowing internal callers to check membership and iterate without allocation
+     */
+    @Override
+    public abstract ComponentKeySet keys();
+
+    /**
+     * Retrieves a component using the {@linkplain ComponentKey#getRawIndex() raw index} of its key.
+     *
+     * @param rawIndex the raw index of a component key
+     * @return the component attached to this container for the corresponding key, or {@code null}
+     * if this container does not support that type of component
+     */
+    @ApiStatus.Internal
+    public abstract @Nullable Component getByIndex(int rawIndex);
+
+    /**
+     * Retrieves a component using the {@linkplain ComponentKey#getRawIndex() raw index} of its key,
+     * without creating it if it is lazy.
+     *
+     * @return the component attached to this container for the corresponding key, or {@code null}
+     * if this container does not support that type of component, or if it has not been created yet
+     */
+    @ApiStatus.Internal
+    public @Nullable Component getCreatedByIndex(int rawIndex) {
+        return this.getByIndex(rawIndex);
+    }
+
+    /**
+     * @return {@code true} if some components of this container are only created the first time they are looked up
+     */
+    @ApiStatus.Internal
+    public boolean hasLazyComponents() {
+        return false;
+    }
+
+    /**
+     * Replaces the arguments lazy components get created with, when this container gets handed over to another provider.
+     *
+     * @param args the new arguments for the container's component factories, in their parameter order
+     */
+    @ApiStatus.Internal
+    public void rebindFactoryArguments(Object... args) {
+        // only containers with lazy components keep their factory arguments
+    }
+
+    /**
+     * Calls {@code visitor} on every component held by this container, in key order.
+     *
+     * <p>Lazily created components are only visited if they have already been created.
+     *
+     * @param visitor the callback to invoke for each component
+     * @param context an arbitrary object passed to every invocation of the visitor
+     * @implNote generated implementations unroll this loop into direct field accesses
+     */
+    @ApiStatus.Internal
+    public abstract <T> void forEachComponent(ComponentVisitor<T> visitor, T context);
+
+    @Override
+    public void forEachComponent(BiConsumer<? super ComponentKey<?>, ? super Component> action) {
+        this.forEachComponent(BI_CONSUMER_VISITOR, action);
+    }
+
+    /**
+     * Ticks every {@link AsyncServerTickingComponent} in this container.
+     *
+     * <p>This method gets called on an async tick worker thread, concurrently with the async ticks of other containers.
+     *
+     * @see AsyncServerTickPhase
+     */
+    @ApiStatus.Internal
+    public abstract void tickAsyncServerComponents();
+
+    /**
+     * Reads the value of a primitive {@code int} component.
+     *
+     * @param rawIndex the raw index of the component's key
+     * @throws IllegalArgumentException if this container holds no {@code int} component for that key
+     * @see PrimitiveComponentView
+     */
+    @ApiStatus.Internal
+    public int getIntComponent(int rawIndex) {
+        throw noPrimitiveComponent(rawIndex);
+    }
+
+    @ApiStatus.Internal
+    public void setIntComponent(int rawIndex, int value) {
+        throw noPrimitiveComponent(rawIndex);
+    }
+
+    @ApiStatus.Internal
+    public float getFloatComponent(int rawIndex) {
+        throw noPrimitiveComponent(rawIndex);
+    }
+
+    @ApiStatus.Internal
+    public void setFloatComponent(int rawIndex, float value) {
+        throw noPrimitiveComponent(rawIndex);
+    }
+
+    @ApiStatus.Internal
+    public long getLongComponent(int rawIndex) {
+        throw noPrimitiveComponent(rawIndex);
+    }
+
+    @ApiStatus.Internal
+    public void setLongComponent(int rawIndex, long value) {
+        throw noPrimitiveComponent(rawIndex);
+    }
+
+    /**
+     * @return a counter of the changes made to the primitive components of this container
+     */
+    @ApiStatus.Internal
+    public final long getPrimitiveSaveRevision() {
+        return this.primitiveSaveRevision;
+    }
+
+    /**
+     * Records a change to a primitive component, called by the generated primitive setters.
+     */
+    @ApiStatus.Internal
+    protected final void markPrimitiveChanged() {
+        this.primitiveSaveRevision++;
+    }
+
+    private IllegalArgumentException noPrimitiveComponent(int rawIndex) {
+        return new IllegalArgumentException("No primitive component of the requested type with raw index " + rawIndex + " in " + this);
+    }
+
+    /**
+     * Computes the number of ticks before the first tick of a component with a {@link TickInterval}.
+     *
+     * <p>Successive containers get successive phases, spreading the ticks of interval components
+     * over the whole interval.
+     *
+     * @param interval the tick interval of a component
+     * @return a delay between {@code 1} and {@code interval}
+     */
+    @ApiStatus.Internal
+    public static int initialTickDelay(int interval) {
+        return 1 + Math.floorMod(NEXT_TICK_PHASE.getAndIncrement(), interval);
+    }
+
     @Override
     public void copyFrom(ComponentContainer other) {
-        for (ComponentKey<?> key : this.keys()) {
-            Component theirs = key.getInternal(other);
-            Component ours = key.getInternal(this);
-            assert ours != null;
-
-            if (theirs != null && !ours.equals(theirs)) {
-                if (ours instanceof CopyableComponent) {
-                    @SuppressWarnings("unchecked") CopyableComponent<Component> copyable = (CopyableComponent<Component>) ours;
-                    copyable.copyFrom(theirs);
-                } else {
-                    NbtCompound tag = new NbtCompound();
-                    theirs.writeToNbt(tag);
-                    ours.readFromNbt(tag);
-                }
+        // iterate over the source, lazy components that were never created there have nothing to copy
+        ((AbstractComponentContainer) other).forEachComponent(COPY_VISITOR, this);
+
+        // and their saved data may never have been read
+        NbtCompound theirDeferredData = ((AbstractComponentContainer) other).deferredData;
+
+        if (theirDeferredData != null) {
+            synchronized (this) {
+                this.readComponentMap(theirDeferredData.copy(), true, false);
+            }
+        }
+    }
+
+    private static void copyComponent(AbstractComponentContainer target, ComponentKey<?> key, Component theirs) {
+        Component ours = target.getByIndex(key.getRawIndex());
+
+        if (ours != null && !ours.equals(theirs)) {
+            if (ours instanceof CopyableComponent) {
+                @SuppressWarnings("unchecked") CopyableComponent<Component> copyable = (CopyableComponent<Component>) ours;
+                copyable.copyFrom(theirs);
+            } else if (ours instanceof BinaryComponent && theirs instanceof BinaryComponent) {
+                byte[] data = BinaryComponent.toByteArray((BinaryComponent) theirs);
+                ((BinaryComponent) ours).readFromBuf(new PacketByteBuf(Unpooled.wrappedBuffer(data)));
+            } else {
+                NbtCompound tag = new NbtCompound();
+                theirs.writeToNbt(tag);
+                ours.readFromNbt(tag);
             }
         }
     }
@@ -73,33 +273,191 @@ public abstract class AbstractComponentContainer implements ComponentContainer {
      */
     @Override
     public void fromTag(NbtCompound tag) {
+        this.deferredData = null;
+
         if(tag.contains(NBT_KEY, NbtType.LIST)) {
             NbtList componentList = tag.getList(NBT_KEY, NbtType.COMPOUND);
             for (int i = 0; i < componentList.size(); i++) {
                 NbtCompound nbt = componentList.getCompound(i);
-                ComponentKey<?> type = ComponentRegistry.get(new Identifier(nbt.getString("componentId")));
+                String keyId = nbt.getString("componentId");
+                ComponentKey<?> type = this.keys().getById(keyId);
+                if (type == null) {
+                    // non-normalized ids (eg. missing namespace) need to go through the registry
+                    Identifier id = Identifier.tryParse(keyId);
+                    type = id == null ? null : ComponentRegistry.get(id);
+                }
                 if (type != null) {
-                    Component component = type.getInternal(this);
+                    Component component = this.getByIndex(type.getRawIndex());
                     if (component != null) {
                         component.readFromNbt(nbt);
                     }
                 }
             }
         } else if (tag.contains("cardinal_components", NbtType.COMPOUND)) {
-            NbtCompound componentMap = tag.getCompound(NBT_KEY);
+            this.readComponentMap(tag.getCompound(NBT_KEY), false, false);
+        }
+    }
 
-            for (ComponentKey<?> key : this.keys()) {
-                String keyId = key.getId().toString();
+    /**
+     * Reads this container's components from a {@link NbtCompound}, like {@link #fromTag(NbtCompound)},
+     * except that the data of lazy components that have not been created yet is kept as-is.
+     *
+     * <p>Each of these components reads its data when it gets created, either when it is first looked up,
+     * or when its provider gets synchronized. Data that is never read is written back unchanged by {@link #toTag(NbtCompound)}.
+     *
+     * <p>When reading outside of the server thread, the data of components that are not
+     * {@linkplain ThreadSafeComponents#canSerializeOffThread(Component) thread-safe} is also kept as-is,
+     * until {@link #applyDeferredData()} gets called on the server thread.
+     *
+     * @param tag       a {@code NbtCompound} on which this container's serializable data has been written
+     * @param offThread {@code true} if this method is called outside of the server thread
+     */
+    @ApiStatus.Internal
+    public synchronized void fromTagDeferred(NbtCompound tag, boolean offThread) {
+        if ((offThread || this.hasLazyComponents()) && tag.contains(NBT_KEY, NbtType.COMPOUND)) {
+            this.deferredData = null;
+            this.readComponentMap(tag.getCompound(NBT_KEY), true, offThread);
+        } else {
+            this.fromTag(tag);
+        }
+    }
 
-                if (componentMap.contains(keyId, NbtType.COMPOUND)) {
-                    Component component = key.getInternal(this);
-                    assert component != null;
-                    component.readFromNbt(componentMap.getCompound(keyId));
-                    componentMap.remove(keyId);
+    /**
+     * @param defer {@code true} to keep the data of lazy components that were not created yet, in which case
+     *              the caller must hold this container's lock
+     */
+    private void readComponentMap(NbtCompound componentMap, boolean defer, boolean offThread) {
+        ComponentKeySet keys = this.keys();
+        List<String> missedKeyIds = null;
+        NbtCompound deferred = null;
+
+        for (String keyId : componentMap.getKeys()) {
+            ComponentKey<?> key = keys.getById(keyId);
+
+            if (defer && key != null) {
+                Component created = this.getCreatedByIndex(key.getRawIndex());
+
+                if (created == null || offThread && !ThreadSafeComponents.canSerializeOffThread(created)) {
+                    if (deferred == null) deferred = copyOf(this.deferredData);
+                    deferred.put(keyId, componentMap.get(keyId));
+                    continue;
+                }
+            }
+
+            Component component = key == null ? null : this.getByIndex(key.getRawIndex());
+
+            if (component == null || !readComponent(componentMap, keyId, component)) {
+                if (missedKeyIds == null) missedKeyIds = new ArrayList<>();
+                missedKeyIds.add(keyId);
+            }
+        }
+
+        if (deferred != null) {
+            // published once every other component read its data
+            this.deferredData = deferred;
+        }
+
+        if (missedKeyIds != null) {
+            ComponentsInternals.logDeserializationWarnings(missedKeyIds);
+        }
+    }
+
+    /**
+     * Reads the deferred saved data of a lazy component, called by generated containers right after creating it,
+     * while holding this container's lock.
+     *
+     * @param component the component that just got created
+     * @param keyId     the {@linkplain ComponentKey#getStringId() id} of the component's key
+     */
+    @ApiStatus.Internal
+    protected final synchronized void loadDeferredData(Component component, String keyId) {
+        NbtCompound deferred = this.deferredData;
+
+        if (deferred != null && deferred.contains(keyId)) {
+            if (!readComponent(deferred, keyId, component)) {
+                ComponentsInternals.logDeserializationWarnings(List.of(keyId));
+            }
+
+            NbtCompound remaining = copyOf(deferred);
+            remaining.remove(keyId);
+            this.deferredData = remaining.isEmpty() ? null : remaining;
+        }
+    }
+
+    /**
+     * @return {@code true} if some saved data of this container has not been read yet
+     */
+    @ApiStatus.Internal
+    public boolean hasDeferredData() {
+        return this.deferredData != null;
+    }
+
+    /**
+     * Reads the deferred saved data of every component that has already been created.
+     *
+     * <p>This method must be called on the server thread.
+     *
+     * @see #fromTagDeferred(NbtCompound, boolean)
+     */
+    @ApiStatus.Internal
+    public synchronized void applyDeferredData() {
+        NbtCompound deferred = this.deferredData;
+
+        if (deferred == null) return;
+
+        ComponentKeySet keys = this.keys();
+        NbtCompound remaining = new NbtCompound();
+        NbtCompound loaded = new NbtCompound();
+
+        for (String keyId : deferred.getKeys()) {
+            ComponentKey<?> key = keys.getById(keyId);
+            // lazy components that were not created yet keep their data deferred
+            boolean keep = key != null && this.getCreatedByIndex(key.getRawIndex()) == null;
+            (keep ? remaining : loaded).put(keyId, deferred.get(keyId));
+        }
+
+        // concurrent saves keep writing the deferred data over the components being read, until it gets replaced at once
+        this.readComponentMap(loaded, false, false);
+        this.deferredData = remaining.isEmpty() ? null : remaining;
+    }
+
+    /**
+     * @return a shallow copy of {@code tag}, or a new compound if it is {@code null}
+     */
+    private static NbtCompound copyOf(@Nullable NbtCompound tag) {
+        NbtCompound copy = new NbtCompound();
+
+        if (tag != null) {
+            for (String key : tag.getKeys()) {
+                copy.put(key, tag.get(key));
+            }
+        }
+
+        return copy;
+    }
+
+    /**
+     * Creates every lazy component that still has saved data waiting to be read, and reads the deferred data
+     * of other components.
+     *
+     * <p>This method must be called on the server thread.
+     */
+    @ApiStatus.Internal
+    public void materializeDeferredComponents() {
+        NbtCompound deferred = this.deferredData;
+
+        if (deferred != null) {
+            ComponentKeySet keys = this.keys();
+
+            for (String keyId : List.copyOf(deferred.getKeys())) {
+                ComponentKey<?> key = keys.getById(keyId);
+
+                if (key != null) {
+                    this.getByIndex(key.getRawIndex());
                 }
             }
 
-            ComponentsInternals.logDeserializationWarnings(componentMap.getKeys());
+            this.applyDeferredData();
         }
     }
 
@@ -111,54 +469,142 @@ public abstract class AbstractComponentContainer implements ComponentContainer {
      * a compound tag for each component. The tag is then passed to the component's
      * {@link Component#writeToNbt(NbtCompound)} method. Every such serialized component is appended
      * to a {@code NbtCompound}, using the component type's identifier as the key.
+     * {@link BinaryComponent}s are instead stored as a single byte array under the same key.
      * The serialized map is finally appended to the passed in tag using the "cardinal_components" key.
      */
     @Override
     public NbtCompound toTag(NbtCompound tag) {
         if(this.hasComponents()) {
-            NbtCompound componentMap = null;
-            NbtCompound componentTag = new NbtCompound();
+            NbtCompound componentMap = new NbtCompound();
+            this.forEachComponent(WRITE_VISITOR, componentMap);
+            this.putComponentMap(tag, componentMap);
+        }
+        return tag;
+    }
 
-            for (ComponentKey<?> type : this.keys()) {
-                Component component = type.getFromContainer(this);
-                component.writeToNbt(componentTag);
+    /**
+     * Writes the saved data of the components that cannot be
+     * {@linkplain ThreadSafeComponents#canSerializeOffThread(Component) serialized off-thread}, for a later call to
+     * {@link #toTagOffThread(NbtCompound, NbtCompound)}.
+     *
+     * <p>This method must be called on the server thread.
+     *
+     * @return the snapshot, or {@code null} if every component of this container is thread-safe
+     */
+    @ApiStatus.Internal
+    public @Nullable NbtCompound snapshotUnsafeComponents() {
+        NbtCompound snapshot = new NbtCompound();
+        this.forEachComponent(SNAPSHOT_VISITOR, snapshot);
+        return snapshot.isEmpty() ? null : snapshot;
+    }
 
-                if (!componentTag.isEmpty()) {
-                    if (componentMap == null) {
-                        componentMap = new NbtCompound();
-                        tag.put(NBT_KEY, componentMap);
-                    }
+    /**
+     * Writes this container's components like {@link #toTag(NbtCompound)}, from a thread other than the server thread.
+     *
+     * <p>Components that are not {@linkplain ThreadSafeComponents#canSerializeOffThread(Component) thread-safe}
+     * get written from {@code snapshot}. Those missing from the snapshot are serialized anyway, and a warning is logged.
+     *
+     * @param snapshot a snapshot taken on the server thread by {@link #snapshotUnsafeComponents()}, or {@code null}
+     */
+    @ApiStatus.Internal
+    public NbtCompound toTagOffThread(NbtCompound tag, @Nullable NbtCompound snapshot) {
+        if (this.hasComponents()) {
+            NbtCompound componentMap = new NbtCompound();
+            this.forEachComponent(OFF_THREAD_WRITE_VISITOR, new OffThreadWrite(componentMap, snapshot));
+            this.putComponentMap(tag, componentMap);
+        }
+        return tag;
+    }
 
-                    componentMap.put(type.getId().toString(), componentTag);
-                    componentTag = new NbtCompound();   // recycle tag objects if possible
-                }
+    private void putComponentMap(NbtCompound tag, NbtCompound componentMap) {
+        NbtCompound deferred = this.deferredData;
+
+        if (deferred != null) {
+            // saved data that was never read gets written back as it was, over the state of components that did not load it
+            for (String keyId : deferred.getKeys()) {
+                componentMap.put(keyId, deferred.get(keyId));
             }
         }
-        return tag;
+
+        if (!componentMap.isEmpty()) {
+            tag.put(NBT_KEY, componentMap);
+        }
     }
 
-    @Override
-    public String toString() {
-        Iterator<ComponentKey<?>> i = this.keys().iterator();
+    private static void snapshotComponent(NbtCompound snapshot, ComponentKey<?> key, Component component) {
+        if (!ThreadSafeComponents.canSerializeOffThread(component)) {
+            writeComponent(snapshot, key, component);
+            // components that write nothing are still covered by the snapshot
+            if (!snapshot.contains(key.getStringId())) {
+                snapshot.put(key.getStringId(), new NbtCompound());
+            }
+        }
+    }
+
+    private static void writeComponentOffThread(OffThreadWrite context, ComponentKey<?> key, Component component) {
+        if (ThreadSafeComponents.canSerializeOffThread(component)) {
+            writeComponent(context.componentMap(), key, component);
+            return;
+        }
+
+        NbtElement snapshotted = context.snapshot() == null ? null : context.snapshot().get(key.getStringId());
 
-        if (! i.hasNext()) {
-            return "{}";
+        if (snapshotted == null) {
+            // created after the snapshot was taken, or no snapshot was taken at all
+            ThreadSafeComponents.warnOffThreadSave(key, component);
+            writeComponent(context.componentMap(), key, component);
+        } else if (!(snapshotted instanceof NbtCompound compound && compound.isEmpty())) {
+            context.componentMap().put(key.getStringId(), snapshotted);
         }
+    }
+
+    private record OffThreadWrite(NbtCompound componentMap, @Nullable NbtCompound snapshot) { }
+
+    private static boolean readComponent(NbtCompound componentMap, String keyId, Component component) {
+        if (componentMap.contains(keyId, NbtType.COMPOUND)) {
+            component.readFromNbt(componentMap.getCompound(keyId));
+            return true;
+        } else if (component instanceof BinaryComponent && componentMap.contains(keyId, NbtType.BYTE_ARRAY)) {
+            byte[] data = componentMap.getByteArray(keyId);
+            ((BinaryComponent) component).readFromBuf(new PacketByteBuf(Unpooled.wrappedBuffer(data)));
+            return true;
+        }
+        return false;
+    }
+
+    private static void writeComponent(NbtCompound componentMap, ComponentKey<?> key, Component component) {
+        if (component instanceof BinaryComponent) {
+            byte[] data = BinaryComponent.toByteArray((BinaryComponent) component);
 
+            if (data.length > 0) {
+                componentMap.putByteArray(key.getStringId(), data);
+            }
+            return;
+        }
+
+        NbtCompound componentTag = new NbtCompound();
+        component.writeToNbt(componentTag);
+
+        if (!componentTag.isEmpty()) {
+            componentMap.put(key.getStringId(), componentTag);
+        }
+    }
+
+    @Override
+    public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append('{');
-        for (;;) {
-            ComponentKey<?> key = i.next();
-            Component value = key.getInternal(this);
-            sb.append(key);
-            sb.append('=');
-            sb.append(value);
-
-            if (! i.hasNext()) {
-                return sb.append('}').toString();
-            }
+        this.forEachComponent(TO_STRING_VISITOR, sb);
+        return sb.append('}').toString();
+    }
 
+    private static void appendComponent(StringBuilder sb, ComponentKey<?> key, Component value) {
+        if (sb.length() > 1) {
             sb.append(',').append(' ');
         }
+
+        sb.append(key);
+        sb.append('=');
+        sb.append(value);
     }
 }
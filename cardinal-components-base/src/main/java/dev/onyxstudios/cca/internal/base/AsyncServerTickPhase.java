@@ -0,0 +1,148 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.tick.AsyncServerTickingComponent;
+import net.minecraft.util.crash.CrashException;
+import net.minecraft.util.crash.CrashReport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Collects containers with {@linkplain AsyncServerTickingComponent async ticking components} during a server tick,
+ * and ticks all of them in parallel once every world has been ticked.
+ *
+ * <p>Containers are scheduled from the server thread when their provider ticks. The server thread then waits
+ * for the whole phase to complete, which acts as a barrier before components get synchronized or saved.
+ */
+public final class AsyncServerTickPhase {
+    /**
+     * Below this amount of containers per worker, splitting the work further costs more than it saves
+     */
+    private static final int MIN_BATCH_SIZE = 4;
+
+    private static List<AbstractComponentContainer> scheduled = new ArrayList<>();
+    private static ForkJoinPool pool;
+
+    /**
+     * Schedules the async tick of a container for the current server tick.
+     *
+     * <p>This method must be called on the server thread. Scheduling the same container several times
+     * in a tick only ticks it once.
+     */
+    public static void schedule(AbstractComponentContainer container) {
+        if (!container.asyncTickScheduled) {
+            container.asyncTickScheduled = true;
+            scheduled.add(container);
+        }
+    }
+
+    /**
+     * Runs the async tick of every scheduled container, and waits for their completion.
+     */
+    public static void run() {
+        if (scheduled.isEmpty()) return;
+
+        List<AbstractComponentContainer> containers = scheduled;
+        scheduled = new ArrayList<>();
+
+        try {
+            if (containers.size() == 1) {
+                tick(containers.get(0));
+            } else {
+                ForkJoinPool pool = getPool();
+                int batchSize = Math.max(MIN_BATCH_SIZE, containers.size() / (pool.getParallelism() * 4));
+                pool.invoke(new TickAction(containers, 0, containers.size(), batchSize));
+            }
+        } catch (RuntimeException e) {
+            throw new CrashException(CrashReport.create(e, "Ticking async components"));
+        }
+    }
+
+    public static void clear() {
+        for (AbstractComponentContainer container : scheduled) {
+            container.asyncTickScheduled = false;
+        }
+        scheduled.clear();
+    }
+
+    private static void tick(AbstractComponentContainer container) {
+        container.asyncTickScheduled = false;
+        container.tickAsyncServerComponents();
+    }
+
+    /**
+     * @return {@code true} if the current thread is one of the async tick workers
+     */
+    static boolean isWorkerThread() {
+        // workers are started after the pool got assigned, so they always see it
+        return Thread.currentThread() instanceof ForkJoinWorkerThread worker && worker.getPool() == pool;
+    }
+
+    static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            int parallelism = ComponentsInternals.getAsyncTickParallelism();
+            pool = new ForkJoinPool(parallelism, p -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setName("CCA Async Tick Worker-" + thread.getPoolIndex());
+                thread.setContextClassLoader(AsyncServerTickPhase.class.getClassLoader());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return pool;
+    }
+
+    private static final class TickAction extends RecursiveAction {
+        private final List<AbstractComponentContainer> containers;
+        private final int start;
+        private final int end;
+        private final int batchSize;
+
+        TickAction(List<AbstractComponentContainer> containers, int start, int end, int batchSize) {
+            this.containers = containers;
+            this.start = start;
+            this.end = end;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start <= this.batchSize) {
+                for (int i = this.start; i < this.end; i++) {
+                    tick(this.containers.get(i));
+                }
+            } else {
+                int middle = (this.start + this.end) >>> 1;
+                invokeAll(
+                    new TickAction(this.containers, this.start, middle, this.batchSize),
+                    new TickAction(this.containers, middle, this.end, this.batchSize)
+                );
+            }
+        }
+    }
+}
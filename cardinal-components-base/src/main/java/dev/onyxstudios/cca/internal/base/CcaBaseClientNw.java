@@ -0,0 +1,142 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
+import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.network.PacketByteBuf;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+public final class CcaBaseClientNw {
+    /**
+     * Component keys indexed by the server's raw indices, for the current connection.
+     * Entries are {@code null} for components that are not registered on this client.
+     */
+    private static volatile ComponentKey<?> @Nullable [] keyTable;
+
+    public static void initClient() {
+        if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
+            ClientPlayNetworking.registerGlobalReceiver(ComponentsBaseNetworking.KEY_TABLE_PACKET_ID, (client, handler, buffer, res) -> {
+                try {
+                    ComponentKey<?>[] keys = new ComponentKey<?>[buffer.readVarInt()];
+
+                    for (int i = 0; i < keys.length; i++) {
+                        keys[i] = ComponentRegistry.get(buffer.readIdentifier());
+                    }
+
+                    keyTable = keys;
+                } catch (Exception e) {
+                    ComponentsInternals.LOGGER.error("Error while reading component key table from network", e);
+                    throw e;
+                }
+            });
+            ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> keyTable = null);
+            DeltaSyncTracker.setResyncRequester(CcaBaseClientNw::requestDeltaResync);
+        }
+    }
+
+    /**
+     * Asks the server to send full snapshots of delta synced components, after a delta could not be applied.
+     */
+    public static void requestDeltaResync() {
+        if (ClientPlayNetworking.canSend(ComponentsBaseNetworking.DELTA_RESYNC_PACKET_ID)) {
+            ClientPlayNetworking.send(ComponentsBaseNetworking.DELTA_RESYNC_PACKET_ID, PacketByteBufs.empty());
+        }
+    }
+
+    /**
+     * Reads a component key written by {@link ComponentsBaseNetworking#writeKey}.
+     *
+     * @param buf the buffer of a component sync packet
+     * @return the corresponding component key, or {@code null} if it is not known to this client
+     */
+    public static @Nullable ComponentKey<?> readKey(PacketByteBuf buf) {
+        int rawIndex = buf.readVarInt();
+        ComponentKey<?>[] keys = keyTable;
+
+        if (keys == null || rawIndex < 0 || rawIndex >= keys.length) {
+            return null;
+        }
+
+        return keys[rawIndex];
+    }
+
+    /**
+     * Reads every component entry remaining in a sync packet, then applies them all in a single task on the game thread.
+     *
+     * @param client   the game client
+     * @param buf      the buffer of a component sync packet, positioned after the provider-specific header
+     * @param provider a getter for the provider which components are being synced, called on the game thread
+     * @see ComponentsBaseNetworking#writeSyncedComponents
+     */
+    public static void applySyncPackets(MinecraftClient client, PacketByteBuf buf, Supplier<?> provider) {
+        List<ComponentKey<?>> keys = new ArrayList<>();
+        List<PacketByteBuf> payloads = new ArrayList<>();
+
+        try {
+            while (buf.isReadable()) {
+                ComponentKey<?> key = readKey(buf);
+                int length = buf.readInt();
+
+                if (key == null) {
+                    buf.skipBytes(length);
+                } else {
+                    keys.add(key);
+                    payloads.add(new PacketByteBuf(buf.readRetainedSlice(length)));
+                }
+            }
+        } catch (RuntimeException e) {
+            payloads.forEach(PacketByteBuf::release);
+            throw e;
+        }
+
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        client.execute(() -> {
+            try {
+                if (provider.get() instanceof ComponentProvider p) {
+                    for (int i = 0; i < keys.size(); i++) {
+                        if (keys.get(i).getNullable(p) instanceof AutoSyncedComponent synced) {
+                            synced.applySyncPacket(payloads.get(i));
+                        }
+                    }
+                }
+            } finally {
+                payloads.forEach(PacketByteBuf::release);
+            }
+        });
+    }
+}
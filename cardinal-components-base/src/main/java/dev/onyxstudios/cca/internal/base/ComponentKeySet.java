@@ -0,0 +1,171 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * An immutable set of {@link ComponentKey}s, as returned by generated component containers.
+ *
+ * <p>Membership is checked through a bitmask indexed by {@link ComponentKey#getRawIndex()},
+ * and iteration walks a plain array in insertion order. Keys can also be looked up
+ * by their {@linkplain ComponentKey#getStringId() string id}, which is used when deserializing containers.
+ */
+public final class ComponentKeySet extends AbstractSet<ComponentKey<?>> {
+    private static final ComponentKeySet EMPTY = new ComponentKeySet(new ComponentKey<?>[0], new long[0]);
+
+    private final ComponentKey<?>[] keys;
+    private final long[] mask;
+    private final Map<String, ComponentKey<?>> byId;
+
+    private ComponentKeySet(ComponentKey<?>[] keys, long[] mask) {
+        this.keys = keys;
+        this.mask = mask;
+        this.byId = new HashMap<>(keys.length * 2);
+
+        for (ComponentKey<?> key : keys) {
+            this.byId.put(key.getStringId(), key);
+        }
+    }
+
+    public static ComponentKeySet of(Collection<? extends ComponentKey<?>> keys) {
+        if (keys.isEmpty()) return EMPTY;
+
+        ComponentKey<?>[] array = new ComponentKey<?>[keys.size()];
+        int size = 0;
+        int maxIndex = 0;
+
+        for (ComponentKey<?> key : keys) {
+            maxIndex = Math.max(maxIndex, key.getRawIndex());
+        }
+
+        long[] mask = new long[(maxIndex >>> 6) + 1];
+
+        for (ComponentKey<?> key : keys) {
+            int index = key.getRawIndex();
+            long bit = 1L << index;
+            if ((mask[index >>> 6] & bit) == 0) {
+                mask[index >>> 6] |= bit;
+                array[size++] = key;
+            }
+        }
+
+        return new ComponentKeySet(size == array.length ? array : Arrays.copyOf(array, size), mask);
+    }
+
+    /**
+     * @param index the position of the key in iteration order, between {@code 0} and {@link #size()} (exclusive)
+     * @return the key at the given position
+     */
+    public ComponentKey<?> get(int index) {
+        return this.keys[index];
+    }
+
+    /**
+     * @param stringId the {@linkplain ComponentKey#getStringId() string form} of a component key's id
+     * @return the key in this set with the given id, or {@code null} if this set has no such key
+     */
+    public @Nullable ComponentKey<?> getById(String stringId) {
+        return this.byId.get(stringId);
+    }
+
+    public boolean containsIndex(int rawIndex) {
+        int word = rawIndex >>> 6;
+        return word < this.mask.length && (this.mask[word] & (1L << rawIndex)) != 0;
+    }
+
+    @Override
+    public boolean contains(@Nullable Object o) {
+        return o instanceof ComponentKey<?> key && this.containsIndex(key.getRawIndex());
+    }
+
+    @Override
+    public int size() {
+        return this.keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.keys.length == 0;
+    }
+
+    @Override
+    public Iterator<ComponentKey<?>> iterator() {
+        return new Itr();
+    }
+
+    @Override
+    public void forEach(Consumer<? super ComponentKey<?>> action) {
+        for (ComponentKey<?> key : this.keys) {
+            action.accept(key);
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        return this.keys.clone();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super ComponentKey<?>> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (o == this) return true;
+        if (o instanceof ComponentKeySet other) return Arrays.equals(this.mask, other.mask);
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    private final class Itr implements Iterator<ComponentKey<?>> {
+        private int cursor;
+
+        @Override
+        public boolean hasNext() {
+            return this.cursor < ComponentKeySet.this.keys.length;
+        }
+
+        @Override
+        public ComponentKey<?> next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            return ComponentKeySet.this.keys[this.cursor++];
+        }
+    }
+}
@@ -24,6 +24,7 @@ package dev.onyxstudios.cca.internal.base;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
 import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentRegistryV3;
@@ -33,19 +34,39 @@ import net.minecraft.util.Identifier;
 import javax.annotation.Nullable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+/**
+ * Registrations are serialized through a lock, and each of them publishes a new immutable snapshot of the registry.
+ * Lookups only read the current snapshot, so they never block and can happen on any thread, like chunk IO workers.
+ */
 public final class ComponentRegistryImpl implements ComponentRegistryV3 {
 
     public static final ComponentRegistryImpl INSTANCE = new ComponentRegistryImpl();
 
-    private final Map<Identifier, ComponentKey<?>> keys = new HashMap<>();
+    private volatile Map<Identifier, ComponentKey<?>> keys = ImmutableMap.of();
 
     @Override
-    public synchronized <T extends Component> ComponentKey<T> getOrCreate(Identifier componentId, Class<T> componentClass) {
+    public <T extends Component> ComponentKey<T> getOrCreate(Identifier componentId, Class<T> componentClass) {
         Preconditions.checkArgument(Component.class.isAssignableFrom(componentClass), "Component interface must extend " + Component.class.getCanonicalName());
+        return this.getOrCreate(componentId, componentClass, () -> {
+            Class<? extends ComponentKey<?>> generated = CcaBootstrap.INSTANCE.getGeneratedComponentTypeClass(componentId);
+
+            if (generated == null) {
+                throw new IllegalStateException(componentId + " was not registered through mod metadata or plugin");
+            }
+
+            return this.instantiateStaticType(generated, componentId, componentClass);
+        });
+    }
+
+    /**
+     * @param keyFactory creates the key if none is registered for {@code componentId} yet, called while holding the registry's lock
+     */
+    @VisibleForTesting
+    synchronized <T extends Component> ComponentKey<T> getOrCreate(Identifier componentId, Class<T> componentClass, Supplier<ComponentKey<T>> keyFactory) {
         // make sure 2+ components cannot get registered at the same time
         @SuppressWarnings("unchecked")
         ComponentKey<T> existing = (ComponentKey<T>) this.get(componentId);
@@ -56,14 +77,8 @@ public final class ComponentRegistryImpl implements ComponentRegistryV3 {
             }
             return existing;
         } else {
-            Class<? extends ComponentKey<?>> generated = CcaBootstrap.INSTANCE.getGeneratedComponentTypeClass(componentId);
-
-            if (generated == null) {
-                throw new IllegalStateException(componentId + " was not registered through mod metadata or plugin");
-            }
-
-            ComponentKey<T> registered = this.instantiateStaticType(generated, componentId, componentClass);
-            this.keys.put(componentId, registered);
+            ComponentKey<T> registered = keyFactory.get();
+            this.keys = ImmutableMap.<Identifier, ComponentKey<?>>builder().putAll(this.keys).put(componentId, registered).build();
             return registered;
         }
     }
@@ -85,11 +100,13 @@ public final class ComponentRegistryImpl implements ComponentRegistryV3 {
 
     @Override
     public Stream<ComponentKey<?>> stream() {
-        return new HashSet<>(this.keys.values()).stream();
+        return this.keys.values().stream();
     }
 
     @VisibleForTesting
-    void clear(Identifier id) {
-        this.keys.remove(id);
+    synchronized void clear(Identifier id) {
+        Map<Identifier, ComponentKey<?>> keys = new HashMap<>(this.keys);
+        keys.remove(id);
+        this.keys = ImmutableMap.copyOf(keys);
     }
 }
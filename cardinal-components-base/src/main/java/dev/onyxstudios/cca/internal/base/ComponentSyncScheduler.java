@@ -0,0 +1,123 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects components {@linkplain ComponentKey#markDirty(Object) marked as dirty} during a server tick,
+ * and synchronizes each of them once at the end of the tick.
+ *
+ * <p>Dirty components are tracked for the whole server rather than per world, as some providers
+ * (levels, scoreboards) do not belong to any world. They get synchronized in the order they were first marked.
+ *
+ * <p>Components marked dirty by {@linkplain AsyncServerTickPhase async tick workers} are queued and merged
+ * on the server thread when the tick ends. Calls made on any other thread, including every client side call,
+ * and calls made while no server is running are ignored.
+ */
+public final class ComponentSyncScheduler {
+    private static final Map<ComponentProvider, BitSet> dirtyComponents = new Reference2ObjectLinkedOpenHashMap<>();
+    /**
+     * Components being synchronized by {@link #flush()}, kept apart so that components marked dirty while flushing
+     * get synced on the next tick
+     */
+    private static final Map<ComponentProvider, BitSet> flushedComponents = new Reference2ObjectLinkedOpenHashMap<>();
+    private static final Queue<DirtyComponent> offThreadDirtyComponents = new ConcurrentLinkedQueue<>();
+    private static volatile @Nullable Thread serverThread;
+
+    /**
+     * Sets the thread on which {@link #flush()} gets called, or {@code null} once the server stops.
+     */
+    public static void setServerThread(@Nullable Thread thread) {
+        serverThread = thread;
+    }
+
+    public static void markDirty(ComponentKey<?> key, ComponentProvider provider) {
+        Thread server = serverThread;
+
+        if (server == null) return;
+
+        if (Thread.currentThread() == server) {
+            markDirtyOnServerThread(key, provider);
+        } else if (AsyncServerTickPhase.isWorkerThread()) {
+            offThreadDirtyComponents.add(new DirtyComponent(key, provider));
+        }
+        // other threads cannot tell a client side provider from a server side one, and nothing would drain their calls
+    }
+
+    private static void markDirtyOnServerThread(ComponentKey<?> key, ComponentProvider provider) {
+        dirtyComponents.computeIfAbsent(provider, p -> new BitSet()).set(key.getRawIndex());
+    }
+
+    public static void flush() {
+        DirtyComponent offThread;
+        while ((offThread = offThreadDirtyComponents.poll()) != null) {
+            markDirtyOnServerThread(offThread.key(), offThread.provider());
+        }
+
+        if (dirtyComponents.isEmpty()) return;
+
+        flushedComponents.putAll(dirtyComponents);
+        dirtyComponents.clear();
+
+        try {
+            for (Map.Entry<ComponentProvider, BitSet> entry : flushedComponents.entrySet()) {
+                syncDirty(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            flushedComponents.clear();
+        }
+    }
+
+    private static void syncDirty(ComponentProvider provider, BitSet rawIndices) {
+        ComponentKeySet keys = ((AbstractComponentContainer) provider.getComponentContainer()).keys();
+
+        for (int i = 0; i < keys.size(); i++) {
+            ComponentKey<?> key = keys.get(i);
+
+            if (rawIndices.get(key.getRawIndex())) {
+                try {
+                    key.sync(provider);
+                } catch (RuntimeException e) {
+                    ComponentsInternals.LOGGER.error("Failed to synchronize component {} of {}", key.getId(), provider, e);
+                }
+            }
+        }
+    }
+
+    public static void clear() {
+        dirtyComponents.clear();
+        flushedComponents.clear();
+        offThreadDirtyComponents.clear();
+    }
+
+    private record DirtyComponent(ComponentKey<?> key, ComponentProvider provider) { }
+}
@@ -0,0 +1,164 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.tick.ComponentSystem;
+import net.minecraft.util.crash.CrashException;
+import net.minecraft.util.crash.CrashReport;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Collects the components ticked by a {@link ComponentSystem} during a server tick.
+ *
+ * <p>Generated containers hold the batch of each of their keys that has a system, and add their component
+ * to it when their provider ticks. Whether a key has a system gets fixed the first time a container
+ * holding that key is generated.
+ */
+public final class ComponentSystemBatch {
+    /**
+     * Below this amount of components per batch, splitting the work further costs more than it saves
+     */
+    private static final int MIN_SLICE_SIZE = 64;
+
+    private static final Map<ComponentKey<?>, ComponentSystemBatch> batches = new HashMap<>();
+    private static final Set<ComponentKey<?>> sealedKeys = new HashSet<>();
+    private static final List<ComponentSystemBatch> registered = new CopyOnWriteArrayList<>();
+
+    private final ComponentKey<?> key;
+    private final ComponentSystem<Component> system;
+    private final boolean parallel;
+    private List<Component> pending = new ArrayList<>();
+
+    private ComponentSystemBatch(ComponentKey<?> key, ComponentSystem<Component> system, boolean parallel) {
+        this.key = key;
+        this.system = system;
+        this.parallel = parallel;
+    }
+
+    public static synchronized <C extends Component> void register(ComponentKey<C> key, ComponentSystem<? super C> system, boolean parallel) {
+        if (batches.containsKey(key)) {
+            throw new IllegalStateException("A component system is already registered for " + key.getId());
+        }
+
+        if (sealedKeys.contains(key)) {
+            throw new IllegalStateException("Component systems for " + key.getId() + " must be registered before any container holding such components gets created");
+        }
+
+        // the components are only ever passed back to the system which was registered for their key
+        @SuppressWarnings("unchecked") ComponentSystem<Component> sys = (ComponentSystem<Component>) system;
+        ComponentSystemBatch batch = new ComponentSystemBatch(key, sys, parallel);
+        batches.put(key, batch);
+        registered.add(batch);
+    }
+
+    /**
+     * Fixes the system of a key, before generating a container holding components of that key.
+     *
+     * @return the batch for the key's system, or {@code null} if the key has no system
+     */
+    @ApiStatus.Internal
+    public static synchronized @Nullable ComponentSystemBatch seal(ComponentKey<?> key) {
+        sealedKeys.add(key);
+        return batches.get(key);
+    }
+
+    /**
+     * @return {@code true} if a system is registered for the key, in which case containers holding it tick on the server
+     */
+    @ApiStatus.Internal
+    public static synchronized boolean hasSystem(ComponentKey<?> key) {
+        return batches.containsKey(key);
+    }
+
+    /**
+     * Adds a component to this batch, called by generated containers on the server thread.
+     *
+     * @param component a component, or {@code null} for lazy components that were never created
+     */
+    @ApiStatus.Internal
+    public void add(@Nullable Component component) {
+        if (component != null) {
+            this.pending.add(component);
+        }
+    }
+
+    /**
+     * Ticks every system with the components collected during the current tick.
+     */
+    public static void run() {
+        for (ComponentSystemBatch batch : registered) {
+            if (!batch.pending.isEmpty()) {
+                batch.flush();
+            }
+        }
+    }
+
+    public static void clear() {
+        for (ComponentSystemBatch batch : registered) {
+            batch.pending.clear();
+        }
+    }
+
+    private void flush() {
+        List<Component> components = this.pending;
+        this.pending = new ArrayList<>(components.size());
+
+        try {
+            if (this.parallel && components.size() > MIN_SLICE_SIZE) {
+                this.tickInParallel(components);
+            } else {
+                this.system.tick(components);
+            }
+        } catch (RuntimeException e) {
+            throw new CrashException(CrashReport.create(e, "Ticking component system for " + this.key.getId()));
+        }
+    }
+
+    private void tickInParallel(List<Component> components) {
+        ForkJoinPool pool = AsyncServerTickPhase.getPool();
+        int sliceSize = Math.max(MIN_SLICE_SIZE, components.size() / (pool.getParallelism() * 4));
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+
+        for (int start = 0; start < components.size(); start += sliceSize) {
+            List<Component> slice = components.subList(start, Math.min(start + sliceSize, components.size()));
+            tasks.add(pool.submit(() -> this.system.tick(slice)));
+        }
+
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
+import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.api.v3.component.sync.DeltaSyncedComponent;
+import dev.onyxstudios.cca.internal.base.asm.CcaBootstrap;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+public final class ComponentsBaseNetworking {
+    /**
+     * {@link CustomPayloadS2CPacket} channel for the component key table.
+     *
+     * <p> Packets emitted on this channel contain the number of statically declared component ids (as a VarInt),
+     * followed by every such id (as an Identifier), ordered by {@linkplain ComponentKey#getRawIndex() raw index}.
+     *
+     * <p> The table is sent once per connection, before the first component sync packet.
+     * Sync packets then refer to component keys through their raw index, as written by {@link #writeKey(PacketByteBuf, ComponentKey, ServerPlayerEntity)}.
+     *
+     * <p> After their provider-specific header, sync packets hold one or more component entries until the end of the buffer.
+     * Each entry is made of the component key (see above), the length of the component data (as an int), and the data itself.
+     */
+    public static final Identifier KEY_TABLE_PACKET_ID = new Identifier("cardinal-components", "key_table");
+    /**
+     * {@link net.minecraft.network.packet.c2s.play.CustomPayloadC2SPacket} channel for delta resynchronization requests.
+     *
+     * <p> Packets emitted on this channel are empty. They are sent by clients that received a delta
+     * they could not apply, and make the server immediately send full snapshots of every {@link DeltaSyncedComponent}
+     * previously synced with them.
+     */
+    public static final Identifier DELTA_RESYNC_PACKET_ID = new Identifier("cardinal-components", "delta_resync");
+
+    private static final ComponentVisitor<SyncContext> SYNC_VISITOR = ComponentsBaseNetworking::writeSyncedComponent;
+    private static final ComponentVisitor<SeparateSyncContext> SEPARATE_SYNC_VISITOR = ComponentsBaseNetworking::syncComponentSeparately;
+    /**
+     * Whether a provider class implements {@link ComponentProvider#toComponentPacket(ServerPlayerEntity)}.
+     * The default implementation returns {@code null}, which cannot be told apart from a provider with nothing to sync.
+     */
+    private static final ClassValue<Boolean> BATCHING_PROVIDERS = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("toComponentPacket", ServerPlayerEntity.class).getDeclaringClass() != ComponentProvider.class;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(type + " does not implement ComponentProvider", e);
+            }
+        }
+    };
+    private static final Set<ServerPlayNetworkHandler> KEY_TABLE_RECIPIENTS = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    public static void init() {
+        if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
+            ServerPlayNetworking.registerGlobalReceiver(DELTA_RESYNC_PACKET_ID, (server, player, handler, buf, responseSender) -> server.execute(() -> DeltaSyncTracker.resync(player)));
+        }
+    }
+
+    /**
+     * Writes a reference to {@code key} in a sync packet destined to {@code recipient}.
+     *
+     * <p>If the recipient's connection has not received the component key table yet, it gets sent
+     * immediately, so that it reaches the client before the packet being written.
+     *
+     * @param buf       the buffer of a component sync packet
+     * @param key       the key of the component being synced
+     * @param recipient the player to which the packet will be sent
+     */
+    public static void writeKey(PacketByteBuf buf, ComponentKey<?> key, ServerPlayerEntity recipient) {
+        sendKeyTable(recipient);
+        buf.writeVarInt(key.getRawIndex());
+    }
+
+    /**
+     * Sends the component key table to {@code recipient} if their connection has not received it yet.
+     *
+     * <p>This must be called before sending a sync packet that was written for another player.
+     *
+     * @param recipient a player about to receive a component sync packet
+     */
+    public static void sendKeyTable(ServerPlayerEntity recipient) {
+        ServerPlayNetworkHandler networkHandler = recipient.networkHandler;
+
+        if (networkHandler != null && KEY_TABLE_RECIPIENTS.add(networkHandler)) {
+            networkHandler.sendPacket(createKeyTablePacket());
+        }
+    }
+
+    /**
+     * Sends a single packet to {@code player}, containing every component of {@code provider} that should be synchronized with them.
+     *
+     * <p>Providers that do not implement {@link ComponentProvider#toComponentPacket(ServerPlayerEntity)}
+     * get each of their components synchronized through its own packet instead.
+     *
+     * @see ComponentProvider#toComponentPacket(ServerPlayerEntity)
+     */
+    public static void syncAll(ServerPlayerEntity player, ComponentProvider provider) {
+        if (!BATCHING_PROVIDERS.get(provider.getClass())) {
+            AbstractComponentContainer components = (AbstractComponentContainer) provider.getComponentContainer();
+            components.materializeDeferredComponents();
+            components.forEachComponent(SEPARATE_SYNC_VISITOR, new SeparateSyncContext(provider, player));
+            return;
+        }
+
+        CustomPayloadS2CPacket packet = provider.toComponentPacket(player);
+
+        if (packet != null) {
+            player.networkHandler.sendPacket(packet);
+        }
+    }
+
+    /**
+     * Sends a single packet to each {@linkplain ComponentProvider#getRecipientsForComponentSync() recipient} of
+     * {@code provider}, containing every component that should be synchronized with them.
+     *
+     * @see #syncAll(ServerPlayerEntity, ComponentProvider)
+     */
+    public static void syncAll(ComponentProvider provider) {
+        for (Iterator<ServerPlayerEntity> it = provider.getRecipientsForComponentSync(); it.hasNext();) {
+            syncAll(it.next(), provider);
+        }
+    }
+
+    /**
+     * Writes a single component entry to a sync packet.
+     *
+     * @param buf       the buffer of a component sync packet, positioned after the provider-specific header
+     * @param key       the key of the component being synced
+     * @param writer    the writer for the component's data
+     * @param recipient the player to which the packet will be sent
+     */
+    public static void writeComponent(PacketByteBuf buf, ComponentKey<?> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
+        writeKey(buf, key, recipient);
+        int lengthIndex = buf.writerIndex();
+        buf.writeInt(0);
+        writer.writeSyncPacket(buf, recipient);
+        buf.setInt(lengthIndex, buf.writerIndex() - lengthIndex - Integer.BYTES);
+    }
+
+    /**
+     * Writes an entry for every component of {@code provider} that should be synchronized with {@code recipient}.
+     *
+     * @param buf       the buffer of a component sync packet, positioned after the provider-specific header
+     * @param provider  the provider which components are being synced
+     * @param recipient the player to which the packet will be sent
+     * @return {@code true} if at least one component entry was written
+     */
+    public static boolean writeSyncedComponents(PacketByteBuf buf, ComponentProvider provider, ServerPlayerEntity recipient) {
+        SyncContext context = new SyncContext(buf, provider, recipient);
+        AbstractComponentContainer components = (AbstractComponentContainer) provider.getComponentContainer();
+        // lazy components with unread saved data must be created to sync it, other lazy components that were
+        // never created still hold their default state, there is nothing to sync
+        components.materializeDeferredComponents();
+        components.forEachComponent(SYNC_VISITOR, context);
+        return context.written;
+    }
+
+    private static void writeSyncedComponent(SyncContext context, ComponentKey<?> key, Component component) {
+        if (component instanceof AutoSyncedComponent synced && synced.shouldSyncWith(context.recipient)) {
+            if (synced instanceof DeltaSyncedComponent delta) {
+                DeltaSyncTracker.recordSource(delta, key, context.provider);
+                // the recipient may have just started tracking the provider, it needs the whole state
+                DeltaSyncTracker.reset(delta, context.recipient);
+            }
+
+            writeComponent(context.buf, key, synced, context.recipient);
+            context.written = true;
+        }
+    }
+
+    private static void syncComponentSeparately(SeparateSyncContext context, ComponentKey<?> key, Component component) {
+        if (component instanceof AutoSyncedComponent synced && synced.shouldSyncWith(context.recipient())) {
+            if (synced instanceof DeltaSyncedComponent delta) {
+                // the recipient may have just started tracking the provider, it needs the whole state
+                DeltaSyncTracker.reset(delta, context.recipient());
+            }
+
+            key.syncWith(context.recipient(), context.provider(), synced, synced);
+        }
+    }
+
+    private static CustomPayloadS2CPacket createKeyTablePacket() {
+        List<Identifier> ids = CcaBootstrap.INSTANCE.getStaticComponentIds();
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeVarInt(ids.size());
+
+        for (Identifier id : ids) {
+            ComponentKey<?> key = ComponentRegistry.get(id);
+
+            if (key != null) {
+                key.writeIdTo(buf);
+            } else {
+                buf.writeIdentifier(id);
+            }
+        }
+
+        return new CustomPayloadS2CPacket(KEY_TABLE_PACKET_ID, buf);
+    }
+
+    private record SeparateSyncContext(ComponentProvider provider, ServerPlayerEntity recipient) { }
+
+    private static final class SyncContext {
+        final PacketByteBuf buf;
+        final ComponentProvider provider;
+        final ServerPlayerEntity recipient;
+        boolean written;
+
+        SyncContext(PacketByteBuf buf, ComponentProvider provider, ServerPlayerEntity recipient) {
+            this.buf = buf;
+            this.provider = provider;
+            this.recipient = recipient;
+        }
+    }
+}
@@ -35,6 +35,7 @@ import java.io.Reader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
@@ -42,24 +43,50 @@ import java.util.Properties;
 
 public final class ComponentsInternals {
     public static final Logger LOGGER = LogManager.getLogger("Cardinal Components API");
+    private static final int CONFIG_VERSION = 2;
     private static boolean logDeserializationWarnings = true;
+    private static boolean pregenerateContainerFactories = false;
+    private static int asyncTickParallelism = 0;
 
     public static void init() {
         Path path = FabricLoader.getInstance().getConfigDir().resolve("cardinal-components-api.properties");
+        Properties cfg = new Properties();
         try(Reader reader = Files.newBufferedReader(path)) {
-            Properties cfg = new Properties();
             cfg.load(reader);
-            logDeserializationWarnings = Boolean.parseBoolean(cfg.getProperty("log-deserialization-warnings", "true"));
+        } catch (NoSuchFileException ignored) {
+            // written below with default values
         } catch (IOException e) {
+            LOGGER.error("Failed to read config file at {}", path);
+        }
+
+        logDeserializationWarnings = Boolean.parseBoolean(cfg.getProperty("log-deserialization-warnings", "true").trim());
+        pregenerateContainerFactories = Boolean.parseBoolean(cfg.getProperty("pregenerate-container-factories", "false").trim());
+        try {
+            asyncTickParallelism = Integer.parseInt(cfg.getProperty("async-tick-parallelism", "0").trim());
+        } catch (NumberFormatException e) {
+            LOGGER.error("Invalid async-tick-parallelism value in config file at {}, using the default value", path);
+        }
+
+        // missing files and files written by older versions get rewritten with every option, keeping the values already set
+        if (!String.valueOf(CONFIG_VERSION).equals(cfg.getProperty("config-version", "").trim())) {
             try {
                 Files.writeString(path, """
                     # If set to false, warnings will not get logged when a component fails to be resolved (typically due to mods being removed)
                     # Default value: true
-                    log-deserialization-warnings = true
+                    log-deserialization-warnings = %s
+
+                    # If set to true, component containers for every entity and block entity class with registered components
+                    # will be generated while the server starts, instead of the first time such an object gets created
+                    # Default value: false
+                    pregenerate-container-factories = %s
+
+                    # The number of threads used to tick async components, or 0 to use one less than the number of available processors
+                    # Default value: 0
+                    async-tick-parallelism = %s
 
                     # Internal value, do not edit or your changes may be arbitrarily reset
-                    config-version = 1
-                    """);
+                    config-version = %d
+                    """.formatted(logDeserializationWarnings, pregenerateContainerFactories, asyncTickParallelism, CONFIG_VERSION));
             } catch (IOException ex) {
                 LOGGER.error("Failed to write config file at {}", path);
             }
@@ -81,6 +108,18 @@ public final class ComponentsInternals {
         }
     }
 
+    public static boolean shouldPregenerateContainerFactories() {
+        return pregenerateContainerFactories;
+    }
+
+    /**
+     * @return the number of worker threads for {@link AsyncServerTickPhase}, at least 1
+     */
+    public static int getAsyncTickParallelism() {
+        if (asyncTickParallelism > 0) return asyncTickParallelism;
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
     public static void logDeserializationWarnings(Collection<String> missedKeyIds) {
         if (logDeserializationWarnings) {
             for (String missedKeyId : missedKeyIds) {
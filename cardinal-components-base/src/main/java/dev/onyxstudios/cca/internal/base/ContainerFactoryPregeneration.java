@@ -0,0 +1,83 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import net.minecraft.util.Util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Generates component container factories ahead of time, while the server starts.
+ *
+ * <p>Without pregeneration, the container class for a provider type is generated the first time an instance of that type
+ * gets created, which can stall the game thread in the middle of gameplay. Pregeneration is opt-in,
+ * through the {@code pregenerate-container-factories} config option.
+ *
+ * <p>Types that are only discovered later (eg. subclasses with dynamically registered components) still get their
+ * factories generated lazily.
+ */
+public final class ContainerFactoryPregeneration {
+    private static final List<Supplier<? extends Collection<Runnable>>> TASK_SOURCES = new CopyOnWriteArrayList<>();
+    private static boolean done;
+
+    /**
+     * Registers a source of pregeneration tasks.
+     *
+     * @param taskSource a supplier called on the server thread once registries are frozen, returning tasks
+     *                   that can each run on an arbitrary worker thread
+     */
+    public static void register(Supplier<? extends Collection<Runnable>> taskSource) {
+        TASK_SOURCES.add(taskSource);
+    }
+
+    /**
+     * Runs every pregeneration task on the main worker pool, and waits for their completion.
+     *
+     * <p>This method does nothing if pregeneration is disabled, or if it already ran in this game instance.
+     */
+    public static synchronized void run() {
+        if (done || !ComponentsInternals.shouldPregenerateContainerFactories()) return;
+        done = true;
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (Supplier<? extends Collection<Runnable>> taskSource : TASK_SOURCES) {
+            for (Runnable task : taskSource.get()) {
+                futures.add(CompletableFuture.runAsync(task, Util.getMainWorkerExecutor()).exceptionally(t -> {
+                    // the lazy path will try again, and report the error where it matters
+                    ComponentsInternals.LOGGER.error("Failed to pregenerate a component container factory", t);
+                    return null;
+                }));
+            }
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        ComponentsInternals.LOGGER.info("Pregenerated {} component container factories in {} ms ({})", futures.size(), (System.nanoTime() - start) / 1_000_000, GenericContainerBuilder.describeLayoutSharing());
+    }
+}
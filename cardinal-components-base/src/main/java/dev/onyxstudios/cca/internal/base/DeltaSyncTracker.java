@@ -0,0 +1,170 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import com.google.common.collect.MapMaker;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.api.v3.component.sync.DeltaSyncedComponent;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of the {@linkplain DeltaSyncedComponent#getSyncRevision() revisions} of delta synced components
+ * known to each client.
+ *
+ * <p>Sync data starts with a mode byte and the revision being sent. Deltas are followed by
+ * the revision they apply to, then by the component's own data.
+ */
+public final class DeltaSyncTracker {
+    private static final byte SNAPSHOT = 0;
+    private static final byte DELTA = 1;
+
+    /**
+     * Server side: last revision sent to each connection, for every delta synced component.
+     * Keys are weak and compared by identity.
+     */
+    private static final Map<ServerPlayNetworkHandler, Map<DeltaSyncedComponent, Integer>> SENT_REVISIONS = new MapMaker().weakKeys().makeMap();
+    /**
+     * Server side: key and provider of every delta synced component that got synced, to send them again on a resync request.
+     * Providers are weakly referenced, as they hold the components used as keys.
+     */
+    private static final Map<DeltaSyncedComponent, Source> SOURCES = new MapMaker().weakKeys().makeMap();
+    /**
+     * Client side: revision currently held by every delta synced component.
+     */
+    private static final Map<DeltaSyncedComponent, Integer> CLIENT_REVISIONS = new MapMaker().weakKeys().makeMap();
+    /**
+     * Client side: sends a resync request to the server, set by the client networking entrypoint
+     * so that this class never links client code.
+     */
+    private static Runnable resyncRequester = () -> {};
+
+    public static void setResyncRequester(Runnable requester) {
+        resyncRequester = requester;
+    }
+
+    public static void writeSyncPacket(DeltaSyncedComponent component, PacketByteBuf buf, ServerPlayerEntity recipient) {
+        Map<DeltaSyncedComponent, Integer> sentRevisions = SENT_REVISIONS.computeIfAbsent(recipient.networkHandler, h -> new MapMaker().weakKeys().makeMap());
+        Integer baseRevision = sentRevisions.get(component);
+        int revision = component.getSyncRevision();
+
+        if (baseRevision != null) {
+            int start = buf.writerIndex();
+            buf.writeByte(DELTA);
+            buf.writeVarInt(revision);
+            buf.writeVarInt(baseRevision);
+
+            if (component.writeDelta(buf, baseRevision, recipient)) {
+                sentRevisions.put(component, revision);
+                return;
+            }
+
+            buf.writerIndex(start);
+        }
+
+        buf.writeByte(SNAPSHOT);
+        buf.writeVarInt(revision);
+        component.writeSnapshot(buf, recipient);
+        sentRevisions.put(component, revision);
+    }
+
+    public static void applySyncPacket(DeltaSyncedComponent component, PacketByteBuf buf) {
+        byte mode = buf.readByte();
+        int revision = buf.readVarInt();
+
+        if (mode == DELTA) {
+            int baseRevision = buf.readVarInt();
+            Integer currentRevision = CLIENT_REVISIONS.get(component);
+
+            if (currentRevision == null || currentRevision != baseRevision) {
+                CLIENT_REVISIONS.remove(component);
+                resyncRequester.run();
+                return;
+            }
+
+            component.applyDelta(buf);
+        } else {
+            component.applySnapshot(buf);
+        }
+
+        CLIENT_REVISIONS.put(component, revision);
+    }
+
+    /**
+     * Forgets the revision sent to {@code recipient} for {@code component}, so that the next sync is a full snapshot.
+     */
+    public static void reset(DeltaSyncedComponent component, ServerPlayerEntity recipient) {
+        Map<DeltaSyncedComponent, Integer> sentRevisions = SENT_REVISIONS.get(recipient.networkHandler);
+
+        if (sentRevisions != null) {
+            sentRevisions.remove(component);
+        }
+    }
+
+    /**
+     * Remembers where {@code component} comes from, so that it can be sent again by {@link #resync(ServerPlayerEntity)}.
+     */
+    public static void recordSource(DeltaSyncedComponent component, ComponentKey<?> key, ComponentProvider provider) {
+        Source source = SOURCES.get(component);
+
+        if (source == null || source.provider().get() != provider) {
+            SOURCES.put(component, new Source(key, new WeakReference<>(provider)));
+        }
+    }
+
+    /**
+     * Immediately sends full snapshots of every delta synced component previously sent to {@code player},
+     * after their client reported a delta it could not apply. Must be called on the server thread.
+     */
+    public static void resync(ServerPlayerEntity player) {
+        Map<DeltaSyncedComponent, Integer> sentRevisions = SENT_REVISIONS.remove(player.networkHandler);
+
+        if (sentRevisions == null) return;
+
+        for (DeltaSyncedComponent component : List.copyOf(sentRevisions.keySet())) {
+            Source source = SOURCES.get(component);
+            ComponentProvider provider = source == null ? null : source.provider().get();
+
+            if (provider != null && isRecipient(provider, player)) {
+                // the revision sent to the player was forgotten, so this sends a full snapshot
+                source.key().syncWith(player, provider);
+            }
+        }
+    }
+
+    private static boolean isRecipient(ComponentProvider provider, ServerPlayerEntity player) {
+        for (Iterator<ServerPlayerEntity> it = provider.getRecipientsForComponentSync(); it.hasNext();) {
+            if (it.next() == player) return true;
+        }
+        return false;
+    }
+
+    private record Source(ComponentKey<?> key, WeakReference<ComponentProvider> provider) { }
+}
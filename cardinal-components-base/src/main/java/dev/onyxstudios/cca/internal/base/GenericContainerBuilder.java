@@ -23,6 +23,7 @@
 package dev.onyxstudios.cca.internal.base;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Suppliers;
 import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
@@ -38,11 +39,20 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class GenericContainerBuilder<I, R> {
     private static final AtomicInteger nextId = new AtomicInteger();
+    /**
+     * Container factories indexed by the layout of the containers they create,
+     * so that providers with identical component sets share a single generated class.
+     */
+    private static final Map<Layout, Supplier<?>> factoriesByLayout = new ConcurrentHashMap<>();
+    private static final AtomicInteger generatedLayouts = new AtomicInteger();
+    private static final AtomicInteger sharedLayouts = new AtomicInteger();
 
     private boolean built;
     private String factoryNameSuffix;
@@ -76,7 +86,16 @@ public class GenericContainerBuilder<I, R> {
 
     @Contract(mutates = "this")
     public <C extends Component> GenericContainerBuilder<I, R> component(ComponentKey<? super C> key, Class<C> implClass, I factory, Set<ComponentKey<?>> dependencies) {
-        this.addComponent(key, new QualifiedComponentFactory<>(factory, implClass, dependencies));
+        return this.component(key, implClass, factory, dependencies, false);
+    }
+
+    /**
+     * @param lazy if {@code true}, the component will only be created the first time it is looked up in a container
+     */
+    @ApiStatus.Experimental
+    @Contract(mutates = "this")
+    public <C extends Component> GenericContainerBuilder<I, R> component(ComponentKey<? super C> key, Class<C> implClass, I factory, Set<ComponentKey<?>> dependencies, boolean lazy) {
+        this.addComponent(key, new QualifiedComponentFactory<>(factory, implClass, dependencies, lazy));
         return this;
     }
 
@@ -89,13 +108,31 @@ public class GenericContainerBuilder<I, R> {
             throw new IllegalStateException("Cannot build more than one container factory with the same builder");
         }
 
-        try {
-            this.built = true;
+        this.built = true;
+
+        if (this.factories.isEmpty()) {
+            return this.emptyFactory;
+        }
 
-            if (this.factories.isEmpty()) {
-                return this.emptyFactory;
-            }
+        Layout layout = new Layout(this.componentFactoryClass, this.containerFactoryType, this.argClasses, this.factories.entrySet().stream()
+            .map(e -> List.of(e.getKey(), e.getValue().factory(), e.getValue().impl(), e.getValue().dependencies(), e.getValue().lazy()))
+            .toList());
+        // memoized suppliers let concurrent builds of the same layout wait for a single generated class
+        Supplier<R> ownFactory = Suppliers.memoize(this::spinFactory);
+        @SuppressWarnings("unchecked") Supplier<R> sharedFactory = (Supplier<R>) factoriesByLayout.putIfAbsent(layout, ownFactory);
 
+        if (sharedFactory != null) {
+            R ret = sharedFactory.get();
+            sharedLayouts.incrementAndGet();
+            ComponentsInternals.LOGGER.debug("Reusing component container factory {} for {}", ret.getClass().getName(), this.factoryNameSuffix);
+            return ret;
+        }
+
+        return ownFactory.get();
+    }
+
+    private R spinFactory() {
+        try {
             String implNameSuffix = factoryNameSuffix != null ? factoryNameSuffix : Integer.toString(nextId.getAndIncrement());
             Class<? extends ComponentContainer> containerClass = CcaAsmHelper.spinComponentContainer(
                 this.componentFactoryClass, this.factories, implNameSuffix
@@ -103,9 +140,22 @@ public class GenericContainerBuilder<I, R> {
             Class<? extends R> factoryClass = StaticComponentPluginBase.spinContainerFactory(
                 implNameSuffix, this.containerFactoryType, containerClass, this.argClasses
             );
+            generatedLayouts.incrementAndGet();
             return ComponentsInternals.createFactory(factoryClass);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
+
+    /**
+     * @return a summary of how many container classes were generated, and how many were avoided by sharing identical layouts
+     */
+    public static String describeLayoutSharing() {
+        return "%d component container classes generated, %d saved by sharing identical layouts".formatted(generatedLayouts.get(), sharedLayouts.get());
+    }
+
+    /**
+     * Everything a generated container class depends on. Component factories are compared by identity.
+     */
+    private record Layout(Class<?> componentFactoryClass, Class<?> containerFactoryType, List<Class<?>> argClasses, List<List<Object>> components) { }
 }
@@ -0,0 +1,102 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A thread-safe cache of container factories for a class hierarchy.
+ *
+ * <p>Classes that require a dedicated factory get one built exactly once, other classes share the factory
+ * of their closest superclass. Lookups are lock-free once a class' factory has been computed.
+ *
+ * @param <B> the root of the class hierarchy, eg. {@code Entity}
+ * @param <F> the type of factory
+ */
+public final class HierarchicalFactoryCache<B, F> {
+    private final Class<B> rootClass;
+    private final Predicate<Class<? extends B>> requiresDedicatedFactory;
+    private final Function<Class<? extends B>, F> dedicatedFactoryBuilder;
+    /**
+     * Lock-free cache of factories, populated through {@link #compute(Class)}.
+     */
+    private final ClassValue<F> factories = new ClassValue<>() {
+        @Override
+        protected F computeValue(Class<?> type) {
+            return compute(type.asSubclass(rootClass));
+        }
+    };
+    /**
+     * Factories that have already been computed. {@link ClassValue} may call {@code computeValue} concurrently
+     * for the same class, this map ensures each factory only gets generated once.
+     */
+    private final Map<Class<? extends B>, F> computedFactories = new ConcurrentHashMap<>();
+    private final ClassValue<Object> locks = new ClassValue<>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            return new Object();
+        }
+    };
+
+    /**
+     * @param rootClass                the root of the class hierarchy, for which {@code requiresDedicatedFactory} must return {@code true}
+     * @param requiresDedicatedFactory tests whether a class needs its own factory rather than its superclass'
+     * @param dedicatedFactoryBuilder  builds the dedicated factory of a class, called at most once per class
+     */
+    public HierarchicalFactoryCache(Class<B> rootClass, Predicate<Class<? extends B>> requiresDedicatedFactory, Function<Class<? extends B>, F> dedicatedFactoryBuilder) {
+        this.rootClass = rootClass;
+        this.requiresDedicatedFactory = requiresDedicatedFactory;
+        this.dedicatedFactoryBuilder = dedicatedFactoryBuilder;
+    }
+
+    /**
+     * Gets the factory for a class, or computes it if none exists. Can be called from any thread.
+     */
+    public F get(Class<? extends B> type) {
+        return this.factories.get(type);
+    }
+
+    private F compute(Class<? extends B> type) {
+        // only lock the class being generated - superclasses always get locked after their subclasses
+        synchronized (this.locks.get(type)) {
+            // need to check again despite synchronization, because
+            // the factory may have been generated by another thread while waiting
+            F existing = this.computedFactories.get(type);
+            if (existing != null) return existing;
+
+            F factory;
+            if (this.requiresDedicatedFactory.test(type)) {
+                factory = this.dedicatedFactoryBuilder.apply(type);
+            } else {
+                @SuppressWarnings("unchecked") var superclass = (Class<? extends B>) type.getSuperclass();
+                assert this.rootClass.isAssignableFrom(superclass) : "requiresDedicatedFactory returned false on " + this.rootClass + "?";
+                factory = /* recursive call */ this.get(superclass);
+            }
+            this.computedFactories.put(type, factory);
+            return factory;
+        }
+    }
+}
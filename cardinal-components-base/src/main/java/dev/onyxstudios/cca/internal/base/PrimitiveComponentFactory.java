@@ -0,0 +1,120 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentFactory;
+import dev.onyxstudios.cca.api.v3.component.primitive.PrimitiveComponents;
+
+/**
+ * A factory for components holding a single primitive value.
+ *
+ * <p>This factory is never called. Instead, generated containers recognize it and store the component's
+ * value in a primitive field, handing out {@link PrimitiveComponentView views} over that field.
+ *
+ * @see PrimitiveComponents
+ */
+public final class PrimitiveComponentFactory<T, C extends Component> implements ComponentFactory<T, C> {
+    private final Kind kind;
+    private final Number defaultValue;
+    private final boolean synced;
+
+    public PrimitiveComponentFactory(Kind kind, Number defaultValue, boolean synced) {
+        this.kind = kind;
+        this.defaultValue = defaultValue;
+        this.synced = synced;
+    }
+
+    public Kind kind() {
+        return this.kind;
+    }
+
+    public Number defaultValue() {
+        return this.defaultValue;
+    }
+
+    public boolean synced() {
+        return this.synced;
+    }
+
+    /**
+     * Primitive component factories ignore their argument, so they can be used for any provider type.
+     */
+    @SuppressWarnings("unchecked")
+    public <U, D extends Component> PrimitiveComponentFactory<U, D> widen() {
+        return (PrimitiveComponentFactory<U, D>) this;
+    }
+
+    @Override
+    public C createComponent(T t) {
+        throw new UnsupportedOperationException("Primitive components can only be stored in generated component containers");
+    }
+
+    @Override
+    public String toString() {
+        return "PrimitiveComponentFactory[" + this.kind + " " + this.defaultValue + (this.synced ? " synced]" : "]");
+    }
+
+    public enum Kind {
+        INT("I", "getIntComponent", "setIntComponent", PrimitiveComponentView.OfInt.class),
+        FLOAT("F", "getFloatComponent", "setFloatComponent", PrimitiveComponentView.OfFloat.class),
+        LONG("J", "getLongComponent", "setLongComponent", PrimitiveComponentView.OfLong.class);
+
+        private final String descriptor;
+        private final String getterName;
+        private final String setterName;
+        private final Class<? extends PrimitiveComponentView> viewClass;
+
+        Kind(String descriptor, String getterName, String setterName, Class<? extends PrimitiveComponentView> viewClass) {
+            this.descriptor = descriptor;
+            this.getterName = getterName;
+            this.setterName = setterName;
+            this.viewClass = viewClass;
+        }
+
+        /**
+         * @return the descriptor of the primitive type stored for this kind of components
+         */
+        public String descriptor() {
+            return this.descriptor;
+        }
+
+        /**
+         * @return the name of the {@link AbstractComponentContainer} method reading values of this kind
+         */
+        public String getterName() {
+            return this.getterName;
+        }
+
+        /**
+         * @return the name of the {@link AbstractComponentContainer} method writing values of this kind
+         */
+        public String setterName() {
+            return this.setterName;
+        }
+
+        public Class<? extends PrimitiveComponentView> viewClass() {
+            return this.viewClass;
+        }
+    }
+}
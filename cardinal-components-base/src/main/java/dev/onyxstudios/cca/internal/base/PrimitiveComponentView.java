@@ -0,0 +1,204 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.CopyableComponent;
+import dev.onyxstudios.cca.api.v3.component.DirtyTrackingComponent;
+import dev.onyxstudios.cca.api.v3.component.primitive.FloatComponent;
+import dev.onyxstudios.cca.api.v3.component.primitive.IntComponent;
+import dev.onyxstudios.cca.api.v3.component.primitive.LongComponent;
+import dev.onyxstudios.cca.api.v3.component.sync.RecipientAgnosticSyncedComponent;
+import net.fabricmc.fabric.api.util.NbtType;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+/**
+ * A component backed by a primitive field of a generated container.
+ *
+ * <p>Views hold no state of their own. Each container creates the view of a component the first time
+ * that component is retrieved, and reuses it afterwards.
+ */
+public abstract class PrimitiveComponentView implements RecipientAgnosticSyncedComponent, DirtyTrackingComponent {
+    private static final String NBT_KEY = "value";
+
+    protected final AbstractComponentContainer container;
+    protected final int rawIndex;
+    protected final PrimitiveComponentFactory<?, ?> factory;
+
+    protected PrimitiveComponentView(AbstractComponentContainer container, int rawIndex, PrimitiveComponentFactory<?, ?> factory) {
+        this.container = container;
+        this.rawIndex = rawIndex;
+        this.factory = factory;
+    }
+
+    @Override
+    public boolean shouldSyncWith(ServerPlayerEntity player) {
+        return this.factory.synced();
+    }
+
+    /**
+     * @implNote the revision is shared by every primitive component of the container, which is enough to tell
+     * whether the container changed since it was last saved
+     */
+    @Override
+    public long getSaveRevision() {
+        return this.container.getPrimitiveSaveRevision();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || this.getClass() != o.getClass()) return false;
+        PrimitiveComponentView that = (PrimitiveComponentView) o;
+        return this.container == that.container && this.rawIndex == that.rawIndex;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(this.container) + this.rawIndex;
+    }
+
+    public static final class OfInt extends PrimitiveComponentView implements IntComponent, CopyableComponent<IntComponent> {
+        public OfInt(AbstractComponentContainer container, int rawIndex, PrimitiveComponentFactory<?, ?> factory) {
+            super(container, rawIndex, factory);
+        }
+
+        @Override
+        public int getInt() {
+            return this.container.getIntComponent(this.rawIndex);
+        }
+
+        @Override
+        public void setInt(int value) {
+            this.container.setIntComponent(this.rawIndex, value);
+        }
+
+        @Override
+        public void copyFrom(IntComponent other) {
+            this.setInt(other.getInt());
+        }
+
+        @Override
+        public void readFromNbt(NbtCompound tag) {
+            this.setInt(tag.contains(NBT_KEY, NbtType.NUMBER) ? tag.getInt(NBT_KEY) : this.factory.defaultValue().intValue());
+        }
+
+        @Override
+        public void writeToNbt(NbtCompound tag) {
+            tag.putInt(NBT_KEY, this.getInt());
+        }
+
+        @Override
+        public void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+            buf.writeVarInt(this.getInt());
+        }
+
+        @Override
+        public void applySyncPacket(PacketByteBuf buf) {
+            this.setInt(buf.readVarInt());
+        }
+    }
+
+    public static final class OfFloat extends PrimitiveComponentView implements FloatComponent, CopyableComponent<FloatComponent> {
+        public OfFloat(AbstractComponentContainer container, int rawIndex, PrimitiveComponentFactory<?, ?> factory) {
+            super(container, rawIndex, factory);
+        }
+
+        @Override
+        public float getFloat() {
+            return this.container.getFloatComponent(this.rawIndex);
+        }
+
+        @Override
+        public void setFloat(float value) {
+            this.container.setFloatComponent(this.rawIndex, value);
+        }
+
+        @Override
+        public void copyFrom(FloatComponent other) {
+            this.setFloat(other.getFloat());
+        }
+
+        @Override
+        public void readFromNbt(NbtCompound tag) {
+            this.setFloat(tag.contains(NBT_KEY, NbtType.NUMBER) ? tag.getFloat(NBT_KEY) : this.factory.defaultValue().floatValue());
+        }
+
+        @Override
+        public void writeToNbt(NbtCompound tag) {
+            tag.putFloat(NBT_KEY, this.getFloat());
+        }
+
+        @Override
+        public void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+            buf.writeFloat(this.getFloat());
+        }
+
+        @Override
+        public void applySyncPacket(PacketByteBuf buf) {
+            this.setFloat(buf.readFloat());
+        }
+    }
+
+    public static final class OfLong extends PrimitiveComponentView implements LongComponent, CopyableComponent<LongComponent> {
+        public OfLong(AbstractComponentContainer container, int rawIndex, PrimitiveComponentFactory<?, ?> factory) {
+            super(container, rawIndex, factory);
+        }
+
+        @Override
+        public long getLong() {
+            return this.container.getLongComponent(this.rawIndex);
+        }
+
+        @Override
+        public void setLong(long value) {
+            this.container.setLongComponent(this.rawIndex, value);
+        }
+
+        @Override
+        public void copyFrom(LongComponent other) {
+            this.setLong(other.getLong());
+        }
+
+        @Override
+        public void readFromNbt(NbtCompound tag) {
+            this.setLong(tag.contains(NBT_KEY, NbtType.NUMBER) ? tag.getLong(NBT_KEY) : this.factory.defaultValue().longValue());
+        }
+
+        @Override
+        public void writeToNbt(NbtCompound tag) {
+            tag.putLong(NBT_KEY, this.getLong());
+        }
+
+        @Override
+        public void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+            buf.writeVarLong(this.getLong());
+        }
+
+        @Override
+        public void applySyncPacket(PacketByteBuf buf) {
+            this.setLong(buf.readVarLong());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.DirtyTrackingComponent;
+
+/**
+ * Remembers the {@linkplain DirtyTrackingComponent#getSaveRevision() save revisions} of a container's components
+ * when they were last saved or loaded, to tell whether the container needs saving again.
+ *
+ * <p>As revisions never decrease, their sum only stays the same if none of them changed.
+ */
+public final class SaveRevisionTracker {
+    private static final ComponentVisitor<Revisions> REVISION_VISITOR = SaveRevisionTracker::visit;
+
+    private long savedRevisionSum;
+    private int savedComponentCount = -1;
+
+    /**
+     * @return {@code true} if any component of the container changed since the last call to {@link #markSaved},
+     * or does not track its changes
+     */
+    public boolean isDirty(ComponentContainer components) {
+        Revisions revisions = collect(components);
+        return revisions.untracked
+            || revisions.count != this.savedComponentCount
+            || revisions.sum != this.savedRevisionSum;
+    }
+
+    /**
+     * Records the current revisions of the container's components, which should be called right before
+     * their data gets saved, or right after it got loaded.
+     */
+    public void markSaved(ComponentContainer components) {
+        Revisions revisions = collect(components);
+        this.savedRevisionSum = revisions.sum;
+        this.savedComponentCount = revisions.count;
+    }
+
+    private static Revisions collect(ComponentContainer components) {
+        Revisions revisions = new Revisions();
+        // lazy components that were never created are not visited, and count as a change once they are
+        ((AbstractComponentContainer) components).forEachComponent(REVISION_VISITOR, revisions);
+        return revisions;
+    }
+
+    private static void visit(Revisions revisions, ComponentKey<?> key, Component component) {
+        revisions.count++;
+
+        if (component instanceof DirtyTrackingComponent tracked) {
+            revisions.sum += tracked.getSaveRevision();
+        } else {
+            revisions.untracked = true;
+        }
+    }
+
+    private static final class Revisions {
+        long sum;
+        int count;
+        boolean untracked;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ThreadSafeSerialization;
+import dev.onyxstudios.cca.api.v3.component.TransientComponent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells which components can be serialized outside of the server thread.
+ *
+ * @see ThreadSafeSerialization
+ */
+public final class ThreadSafeComponents {
+    private static final ClassValue<Boolean> threadSafeClasses = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            // primitive components only hold a single value in their container
+            return type.isAnnotationPresent(ThreadSafeSerialization.class)
+                || TransientComponent.class.isAssignableFrom(type)
+                || PrimitiveComponentView.class.isAssignableFrom(type);
+        }
+    };
+    private static final Set<Class<?>> warnedClasses = ConcurrentHashMap.newKeySet();
+    private static volatile boolean offThreadSaves;
+
+    public static boolean canSerializeOffThread(Component component) {
+        return threadSafeClasses.get(component.getClass());
+    }
+
+    /**
+     * @return {@code true} once a provider has been saved outside of the server thread, after which
+     * providers start taking {@linkplain AbstractComponentContainer#snapshotUnsafeComponents() snapshots} of
+     * their unsafe components before being saved
+     */
+    public static boolean hasOffThreadSaves() {
+        return offThreadSaves;
+    }
+
+    /**
+     * Records that providers get saved outside of the server thread.
+     */
+    public static void markOffThreadSave() {
+        offThreadSaves = true;
+    }
+
+    /**
+     * Logs a warning for a component that is being saved outside of the server thread without being
+     * {@linkplain ThreadSafeSerialization thread-safe} nor snapshotted, once per component class.
+     */
+    static void warnOffThreadSave(ComponentKey<?> key, Component component) {
+        if (warnedClasses.add(component.getClass())) {
+            ComponentsInternals.LOGGER.warn("Component {} ({}) is being saved outside of the server thread without a snapshot, but is not annotated with @ThreadSafeSerialization", key.getId(), component.getClass().getName());
+        }
+    }
+}
@@ -26,17 +26,26 @@ import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.api.v3.component.tick.AsyncServerTickingComponent;
 import dev.onyxstudios.cca.api.v3.component.tick.ClientTickingComponent;
 import dev.onyxstudios.cca.api.v3.component.tick.ServerTickingComponent;
+import dev.onyxstudios.cca.api.v3.component.tick.TickInterval;
 import dev.onyxstudios.cca.internal.base.AbstractComponentContainer;
+import dev.onyxstudios.cca.internal.base.AsyncServerTickPhase;
+import dev.onyxstudios.cca.internal.base.ComponentKeySet;
+import dev.onyxstudios.cca.internal.base.ComponentSystemBatch;
+import dev.onyxstudios.cca.internal.base.ComponentVisitor;
+import dev.onyxstudios.cca.internal.base.PrimitiveComponentFactory;
 import dev.onyxstudios.cca.internal.base.QualifiedComponentFactory;
-import it.unimi.dsi.fastutil.objects.ReferenceArraySet;
 import net.fabricmc.fabric.api.event.Event;
 import net.fabricmc.loader.api.FabricLoader;
 import net.fabricmc.loader.launch.common.FabricLauncherBase;
 import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -44,38 +53,66 @@ import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.util.CheckClassAdapter;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 public final class CcaAsmHelper {
 
     /**
-     * If {@code true}, any class generated through {@link #generateClass(ClassWriter, String)} will
+     * If {@code true}, any class generated through {@link #defineClass(byte[], String)} will
      * be checked and written to disk. Highly recommended when editing methods in this class.
      */
     public static final boolean DEBUG_CLASSES = Boolean.getBoolean("cca.debug.asm");
     public static final int ASM_VERSION = Opcodes.ASM6;
+    /**
+     * Class file version of generated classes, matching the Java version targeted by the project.
+     */
+    public static final int CLASS_VERSION = Opcodes.V17;
     // existing references
     public static final String COMPONENT = Type.getInternalName(Component.class);
     public static final String COMPONENT_CONTAINER = Type.getInternalName(ComponentContainer.class);
     public static final String COMPONENT_TYPE = Type.getInternalName(ComponentKey.class);
     public static final String DYNAMIC_COMPONENT_CONTAINER_IMPL = Type.getInternalName(AbstractComponentContainer.class);
+    public static final String COMPONENT_KEY_SET = Type.getInternalName(ComponentKeySet.class);
     public static final String IDENTIFIER = (FabricLauncherBase.getLauncher() == null ? Identifier.class.getName() : FabricLoader.getInstance().getMappingResolver().mapClassName("intermediary", "net.minecraft.class_2960")).replace('.', '/');
     public static final String EVENT = Type.getInternalName(Event.class);
+    public static final String CCA_ASM_HELPER = Type.getInternalName(CcaAsmHelper.class);
+    public static final String ASYNC_SERVER_TICK_PHASE = Type.getInternalName(AsyncServerTickPhase.class);
+    public static final String COMPONENT_SYSTEM_BATCH = Type.getInternalName(ComponentSystemBatch.class);
+    public static final String COMPONENT_SYSTEM_BATCH_DESC = "L" + COMPONENT_SYSTEM_BATCH + ";";
+    public static final String PRIMITIVE_COMPONENT_FACTORY = Type.getInternalName(PrimitiveComponentFactory.class);
+    public static final String PRIMITIVE_VIEW_CTOR_DESC = "(L" + DYNAMIC_COMPONENT_CONTAINER_IMPL + ";IL" + PRIMITIVE_COMPONENT_FACTORY + ";)V";
     // generated references
     public static final String STATIC_COMPONENT_CONTAINER = "dev/onyxstudios/cca/_generated_/GeneratedComponentContainer";
     public static final String STATIC_CONTAINER_GETTER_DESC = "()L" + COMPONENT + ";";
+    public static final String CONTAINER_INDEXED_GETTER_DESC = "(I)L" + COMPONENT + ";";
+    public static final String LOAD_DEFERRED_DATA_DESC = "(L" + COMPONENT + ";Ljava/lang/String;)V";
+    public static final String COMPONENT_VISITOR = Type.getInternalName(ComponentVisitor.class);
+    public static final String COMPONENT_VISITOR_VISIT_DESC = "(Ljava/lang/Object;L" + COMPONENT_TYPE + ";L" + COMPONENT + ";)V";
     public static final String STATIC_COMPONENT_TYPE = "dev/onyxstudios/cca/_generated_/ComponentType";
     public static final String STATIC_CONTAINER_FACTORY = "dev/onyxstudios/cca/_generated_/GeneratedContainerFactory";
     public static final String ABSTRACT_COMPONENT_CONTAINER_CTOR_DESC;
+    public static final String TAKE_CLASS_DATA_DESC = "(Ljava/lang/String;)[Ljava/lang/Object;";
+
+    /**
+     * Objects referenced by generated classes, stored in their {@code static final} fields when the classes get initialized.
+     * Keyed by internal class name, and only populated while a class is being defined and initialized.
+     */
+    private static final Map<String, Object[]> pendingClassData = new ConcurrentHashMap<>();
 
     static {
         try {
@@ -88,12 +125,32 @@ public final class CcaAsmHelper {
     public static Class<?> generateClass(ClassNode classNode) throws IOException {
         ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
         classNode.accept(writer);
-        return generateClass(writer, classNode.name);
+        return defineClass(writer.toByteArray(), classNode.name);
     }
 
-    private static Class<?> generateClass(ClassWriter classWriter, String className) throws IOException {
+    /**
+     * Defines a class, reusing its bytecode from the {@linkplain GeneratedClassCache persistent cache} when possible.
+     *
+     * @param className the internal name of the generated class
+     * @param inputs    a description of everything the generated bytecode depends on, besides the set of installed mods
+     * @param generator a function generating the class, called only if it is not cached yet
+     * @return the defined class
+     */
+    public static Class<?> generateCachedClass(String className, String inputs, Supplier<ClassNode> generator) throws IOException {
+        byte[] bytes = GeneratedClassCache.load(className, inputs);
+
+        if (bytes == null) {
+            ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+            generator.get().accept(writer);
+            bytes = writer.toByteArray();
+            GeneratedClassCache.store(className, inputs, bytes);
+        }
+
+        return defineClass(bytes, className);
+    }
+
+    private static Class<?> defineClass(byte[] bytes, String className) throws IOException {
         try {
-            byte[] bytes = classWriter.toByteArray();
             if (DEBUG_CLASSES) {
                 ClassReader classReader = new ClassReader(bytes);
                 classReader.accept(new CheckClassAdapter(null), 0);
@@ -187,9 +244,108 @@ public final class CcaAsmHelper {
         Map<ComponentKey<?>, QualifiedComponentFactory<I>> sorted = QualifiedComponentFactory.sort(componentFactories);
         checkValidJavaIdentifier(implNameSuffix);
         String containerImplName = STATIC_COMPONENT_CONTAINER + '_' + implNameSuffix;
+        List<Object> classDataList = new ArrayList<>(sorted.size() + 1);
+        classDataList.add(ComponentKeySet.of(sorted.keySet()));
+        Set<ComponentKey<?>> systemKeys = new HashSet<>();
+
+        for (var entry : sorted.entrySet()) {
+            classDataList.add(entry.getValue().factory());
+            ComponentSystemBatch systemBatch = ComponentSystemBatch.seal(entry.getKey());
+
+            if (systemBatch != null) {
+                classDataList.add(systemBatch);
+                systemKeys.add(entry.getKey());
+            }
+        }
+
+        Object[] classData = classDataList.toArray();
+
+        if (pendingClassData.putIfAbsent(containerImplName, classData) != null) {
+            throw new IllegalStateException("Container class " + containerImplName + " is already being generated, implementation name suffixes must be unique");
+        }
+
+        try {
+            Class<?> containerClass = generateCachedClass(
+                containerImplName,
+                describeContainer(componentFactoryType, sorted, systemKeys),
+                () -> writeComponentContainer(componentFactoryType, sorted, systemKeys, containerImplName)
+            );
+            // initialize the class right away, so that it takes its data now instead of on first use, if ever
+            return Class.forName(containerClass.getName(), true, containerClass.getClassLoader()).asSubclass(ComponentContainer.class);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Failed to initialize generated class " + containerImplName, e);
+        } finally {
+            // no-op if the class took its data, otherwise the data would never be released
+            pendingClassData.remove(containerImplName, classData);
+        }
+    }
+
+    /**
+     * Retrieves the objects to store in a generated class' {@code static final} fields.
+     *
+     * <p>This method is called by the static initializer of generated classes, which lets the JIT treat
+     * component factories as true constants instead of reading them from mutable fields.
+     *
+     * @param className the internal name of the class being initialized
+     * @return the objects to store in the class' constant fields, in declaration order
+     */
+    @ApiStatus.Internal
+    public static Object[] takeClassData(String className) {
+        Object[] data = pendingClassData.remove(className);
+
+        if (data == null) {
+            throw new IllegalStateException("No class data available for generated class " + className);
+        }
+
+        return data;
+    }
+
+    /**
+     * Describes the inputs of {@link #writeComponentContainer(Class, Map, Set, String)}, for use as a {@linkplain GeneratedClassCache cache} key.
+     */
+    private static <I> String describeContainer(Class<? super I> componentFactoryType, Map<ComponentKey<?>, QualifiedComponentFactory<I>> sorted, Set<ComponentKey<?>> systemKeys) {
+        StringBuilder sb = new StringBuilder(componentFactoryType.getName());
+
+        for (var entry : sorted.entrySet()) {
+            sb.append('\n').append(entry.getKey().getId())
+                .append(' ').append(entry.getKey().getRawIndex())
+                .append(' ').append(entry.getValue().impl().getName())
+                .append(' ').append(describeFactory(entry.getValue().factory()))
+                .append(describeTicking(entry.getValue().impl()))
+                .append(entry.getValue().lazy() ? " lazy" : "")
+                .append(systemKeys.contains(entry.getKey()) ? " system" : "");
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * @return the ticking traits of {@code impl} that shape the generated tick methods
+     */
+    private static String describeTicking(Class<? extends Component> impl) {
+        StringBuilder sb = new StringBuilder();
+        if (ServerTickingComponent.class.isAssignableFrom(impl)) sb.append(" serverTick");
+        if (ClientTickingComponent.class.isAssignableFrom(impl)) sb.append(" clientTick");
+        if (AsyncServerTickingComponent.class.isAssignableFrom(impl)) sb.append(" asyncServerTick");
+        if (sb.length() > 0) sb.append(" interval=").append(getTickInterval(impl));
+        return sb.toString();
+    }
+
+    /**
+     * @return a name for the factory's class that stays the same across launches, even for lambdas
+     */
+    private static String describeFactory(Object factory) {
+        // primitive factories are all of the same class, but their default value ends up in the generated code
+        if (factory instanceof PrimitiveComponentFactory<?, ?>) return factory.toString();
+
+        String name = factory.getClass().getName();
+        int lambdaIndex = name.indexOf("$$Lambda");
+        return lambdaIndex < 0 ? name : name.substring(0, lambdaIndex + "$$Lambda".length());
+    }
+
+    private static <I> ClassNode writeComponentContainer(Class<? super I> componentFactoryType, Map<ComponentKey<?>, QualifiedComponentFactory<I>> sorted, Set<ComponentKey<?>> systemKeys, String containerImplName) {
         String componentFactoryName = Type.getInternalName(componentFactoryType);
         Method sam = findSam(componentFactoryType);
-        String samDescriptor = Type.getMethodDescriptor(sam);
         Class<?>[] factoryArgs = sam.getParameterTypes();
         Type[] actualCtorArgs = new Type[factoryArgs.length];
 
@@ -200,7 +356,7 @@ public final class CcaAsmHelper {
         String ctorDesc = Type.getMethodDescriptor(Type.VOID_TYPE, actualCtorArgs);
         ClassNode classNode = new ClassNode(ASM_VERSION);
         classNode.visit(
-            Opcodes.V1_8,
+            CLASS_VERSION,
             Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
             containerImplName,
             null,
@@ -210,10 +366,20 @@ public final class CcaAsmHelper {
 
         String factoryFieldDescriptor = Type.getDescriptor(componentFactoryType);
 
-        classNode.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, "componentKeys", "Ljava/util/Set;", "Ljava/util/Set<Ldev/onyxstudios/cca/api/v3/component/ComponentKey<*>;>;", null);
+        String keySetDescriptor = "L" + COMPONENT_KEY_SET + ";";
+        classNode.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "componentKeys", keySetDescriptor, null, null);
 
-        MethodVisitor keys = classNode.visitMethod(Opcodes.ACC_PUBLIC, "keys", "()Ljava/util/Set;", "()Ljava/util/Set<Ldev/onyxstudios/cca/api/v3/component/ComponentKey<*>;>;", null);
-        keys.visitFieldInsn(Opcodes.GETSTATIC, containerImplName, "componentKeys", "Ljava/util/Set;");
+        /* static initializer, storing the class data in constant fields */
+        MethodVisitor clinit = classNode.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+        clinit.visitCode();
+        clinit.visitLdcInsn(containerImplName);
+        clinit.visitMethodInsn(Opcodes.INVOKESTATIC, CCA_ASM_HELPER, "takeClassData", TAKE_CLASS_DATA_DESC, false);
+        clinit.visitVarInsn(Opcodes.ASTORE, 0);
+        int classDataIndex = 0;
+        generateClassDataLoad(clinit, containerImplName, "componentKeys", keySetDescriptor, classDataIndex++);
+
+        MethodVisitor keys = classNode.visitMethod(Opcodes.ACC_PUBLIC, "keys", "()" + keySetDescriptor, null, null);
+        keys.visitFieldInsn(Opcodes.GETSTATIC, containerImplName, "componentKeys", keySetDescriptor);
         keys.visitInsn(Opcodes.ARETURN);
         keys.visitEnd();
 
@@ -228,55 +394,150 @@ public final class CcaAsmHelper {
         init.visitVarInsn(Opcodes.ALOAD, 0);
         init.visitMethodInsn(Opcodes.INVOKESPECIAL, STATIC_COMPONENT_CONTAINER, "<init>", ABSTRACT_COMPONENT_CONTAINER_CTOR_DESC, false);
 
+        boolean hasLazyComponents = sorted.values().stream().anyMatch(QualifiedComponentFactory::lazy);
+
+        if (hasLazyComponents) {
+            /* lazy components are created after the constructor returns, so the factory arguments must be kept around */
+            for (int i = 0; i < actualCtorArgs.length; i++) {
+                // not final, as containers handed over to another provider get their arguments rebound
+                classNode.visitField(Opcodes.ACC_PRIVATE, getFactoryArgFieldName(i), actualCtorArgs[i].getDescriptor(), null, null).visitEnd();
+                init.visitVarInsn(Opcodes.ALOAD, 0);
+                init.visitVarInsn(Opcodes.ALOAD, i + 1);
+                init.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, getFactoryArgFieldName(i), actualCtorArgs[i].getDescriptor());
+            }
+        }
+
+        MethodVisitor forEach = classNode.visitMethod(Opcodes.ACC_PUBLIC, "forEachComponent", "(L" + COMPONENT_VISITOR + ";Ljava/lang/Object;)V", null, null);
+        forEach.visitCode();
+        int keyIndex = 0;
+
         MethodVisitor serverTick = classNode.visitMethod(Opcodes.ACC_PUBLIC, "tickServerComponents", "()V", null, null);
         serverTick.visitCode();
         MethodVisitor clientTick = classNode.visitMethod(Opcodes.ACC_PUBLIC, "tickClientComponents", "()V", null, null);
         clientTick.visitCode();
+        MethodVisitor asyncServerTick = classNode.visitMethod(Opcodes.ACC_PUBLIC, "tickAsyncServerComponents", "()V", null, null);
+        asyncServerTick.visitCode();
+        boolean hasServerTicking = false;
+        boolean hasClientTicking = false;
+        Map<PrimitiveComponentFactory.Kind, List<ComponentKey<?>>> primitives = new EnumMap<>(PrimitiveComponentFactory.Kind.class);
+        boolean hasAsyncServerTicking = false;
 
         for (var entry : sorted.entrySet()) {
             Identifier identifier = entry.getKey().getId();
             String componentFieldName = getJavaIdentifierName(identifier);
             Class<? extends Component> impl = entry.getValue().impl();
-            String componentFieldDescriptor = Type.getDescriptor(impl);
+            PrimitiveComponentFactory<?, ?> primitive = getPrimitiveFactory(entry.getValue());
+            String componentFieldDescriptor = getComponentFieldDescriptor(entry.getValue());
             String factoryFieldName = getFactoryFieldName(identifier);
             /* field declaration */
             classNode.visitField(
-                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC,
+                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
                 factoryFieldName,
                 factoryFieldDescriptor,
                 null,
                 null
             ).visitEnd();
+            generateClassDataLoad(clinit, containerImplName, factoryFieldName, factoryFieldDescriptor, classDataIndex++);
+            String systemFieldName = null;
+            if (systemKeys.contains(entry.getKey())) {
+                systemFieldName = getJavaIdentifierName(identifier) + "$system";
+                classNode.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, systemFieldName, COMPONENT_SYSTEM_BATCH_DESC, null, null).visitEnd();
+                generateClassDataLoad(clinit, containerImplName, systemFieldName, COMPONENT_SYSTEM_BATCH_DESC, classDataIndex++);
+            }
+            boolean lazy = isLazy(entry.getValue());
             classNode.visitField(
-                Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL,
+                // lazy components get published to other threads by a volatile write, once they read their data
+                lazy ? Opcodes.ACC_PRIVATE | Opcodes.ACC_VOLATILE : primitive != null ? Opcodes.ACC_PRIVATE : Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL,
                 componentFieldName,
                 componentFieldDescriptor,
                 null,
                 null
             ).visitEnd();
-            /* constructor initialization */
-            init.visitFieldInsn(Opcodes.GETSTATIC, containerImplName, factoryFieldName, factoryFieldDescriptor);
-            // stack: factory
-            for (int i = 0; i < factoryArgs.length; i++) {
-                init.visitVarInsn(Opcodes.ALOAD, i + 1);    // first arg is for the container itself
+            String nullComponentMessage = "Component factory " + describeFactory(entry.getValue().factory()) + " for " + identifier + " produced a null component";
+
+            if (primitive != null) {
+                /* primitive storage, the factory is never called - the view is only created on first access */
+                classNode.visitField(Opcodes.ACC_PRIVATE, getPrimitiveViewFieldName(identifier), Type.getDescriptor(primitive.kind().viewClass()), null, null).visitEnd();
+                init.visitVarInsn(Opcodes.ALOAD, 0);
+                init.visitLdcInsn(primitive.defaultValue());
+                // stack: <this> defaultValue
+                init.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+                // <empty stack>
+                primitives.computeIfAbsent(primitive.kind(), k -> new ArrayList<>()).add(entry.getKey());
+            } else if (lazy) {
+                /* lazy initialization, creating the component on first access while holding the container's lock */
+                String creatingFieldName = getCreatingFieldName(identifier);
+                classNode.visitField(Opcodes.ACC_PRIVATE, creatingFieldName, componentFieldDescriptor, null, null).visitEnd();
+                MethodVisitor materialize = classNode.visitMethod(Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNCHRONIZED, getMaterializerName(identifier), "()" + componentFieldDescriptor, null, null);
+                materialize.visitCode();
+                Label initialized = new Label();
+                Label createStart = new Label();
+                Label createEnd = new Label();
+                Label createFailed = new Label();
+                materialize.visitTryCatchBlock(createStart, createEnd, createFailed, null);
+                // another thread may have created the component while this one waited for the lock
+                materialize.visitVarInsn(Opcodes.ALOAD, 0);
+                materialize.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+                // stack: component
+                materialize.visitInsn(Opcodes.DUP);
+                materialize.visitJumpInsn(Opcodes.IFNONNULL, initialized);
+                materialize.visitInsn(Opcodes.POP);
+                /* the component is visible to this thread while it reads its data, so that looking it up meanwhile does not create another one */
+                materialize.visitVarInsn(Opcodes.ALOAD, 0);
+                materialize.visitFieldInsn(Opcodes.GETFIELD, containerImplName, creatingFieldName, componentFieldDescriptor);
+                // stack: component
+                materialize.visitInsn(Opcodes.DUP);
+                materialize.visitJumpInsn(Opcodes.IFNONNULL, initialized);
+                // stack: null
+                materialize.visitInsn(Opcodes.POP);
+                materialize.visitLabel(createStart);
+                generateFactoryCall(materialize, containerImplName, componentFactoryName, sam, factoryFieldName, factoryFieldDescriptor, actualCtorArgs, true, nullComponentMessage, impl);
+                // stack: component
+                materialize.visitInsn(Opcodes.DUP);
+                materialize.visitVarInsn(Opcodes.ALOAD, 0);
+                materialize.visitInsn(Opcodes.SWAP);
+                // stack: component <this> component
+                materialize.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, creatingFieldName, componentFieldDescriptor);
+                // stack: component
+                materialize.visitInsn(Opcodes.DUP);
+                materialize.visitVarInsn(Opcodes.ALOAD, 0);
+                materialize.visitInsn(Opcodes.SWAP);
+                materialize.visitLdcInsn(entry.getKey().getStringId());
+                // stack: component <this> component keyId
+                materialize.visitMethodInsn(Opcodes.INVOKEVIRTUAL, DYNAMIC_COMPONENT_CONTAINER_IMPL, "loadDeferredData", LOAD_DEFERRED_DATA_DESC, false);
+                // stack: component
+                materialize.visitInsn(Opcodes.DUP);
+                materialize.visitVarInsn(Opcodes.ALOAD, 0);
+                materialize.visitInsn(Opcodes.SWAP);
+                // stack: component <this> component
+                materialize.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+                materialize.visitLabel(createEnd);
+                // stack: component
+                materialize.visitVarInsn(Opcodes.ALOAD, 0);
+                materialize.visitInsn(Opcodes.ACONST_NULL);
+                materialize.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, creatingFieldName, componentFieldDescriptor);
+                materialize.visitLabel(initialized);
+                materialize.visitInsn(Opcodes.ARETURN);
+                /* a failed creation must not leave a half-initialized component behind */
+                materialize.visitLabel(createFailed);
+                // stack: throwable
+                materialize.visitVarInsn(Opcodes.ALOAD, 0);
+                materialize.visitInsn(Opcodes.ACONST_NULL);
+                materialize.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, creatingFieldName, componentFieldDescriptor);
+                materialize.visitInsn(Opcodes.ATHROW);
+                materialize.visitEnd();
+            } else {
+                /* constructor initialization */
+                generateFactoryCall(init, containerImplName, componentFactoryName, sam, factoryFieldName, factoryFieldDescriptor, actualCtorArgs, false, nullComponentMessage, impl);
+                // stack: component
+                init.visitVarInsn(Opcodes.ALOAD, 0);
+                // stack: component <this>
+                init.visitInsn(Opcodes.SWAP);
+                // stack: <this> component
+                // store in the field
+                init.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+                // <empty stack>
             }
-            // stack: factory factoryArgs...
-            // initialize the component by calling the factory
-            init.visitMethodInsn(Opcodes.INVOKEINTERFACE, componentFactoryName, sam.getName(), samDescriptor, true);
-            // stack: component
-            init.visitLdcInsn("Component factory " + entry.getValue().factory().getClass() + " for " + identifier + " produced a null component");
-            // stack: component, errorMsg
-            init.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Objects", "requireNonNull", "(Ljava/lang/Object;Ljava/lang/String;)Ljava/lang/Object;", false);
-            // stack: object
-            init.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(impl));
-            // stack: component
-            init.visitVarInsn(Opcodes.ALOAD, 0);
-            // stack: component <this>
-            init.visitInsn(Opcodes.SWAP);
-            // stack: <this> component
-            // store in the field
-            init.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
-            // <empty stack>
 
             /* getter implementation */
             MethodVisitor getter = classNode.visitMethod(
@@ -286,67 +547,460 @@ public final class CcaAsmHelper {
                 null,
                 null
             );
-            getter.visitVarInsn(Opcodes.ALOAD, 0);
-            // stack: <this>
-            getter.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+            generateComponentLoad(getter, containerImplName, entry.getKey(), entry.getValue(), factoryFieldDescriptor, true);
             // stack: component
             getter.visitInsn(Opcodes.ARETURN);
             getter.visitEnd();
 
-            /* tick implementation */
+            /* visitor implementation - lazy components that were never created are skipped */
+            Label skipVisit = new Label();
+            if (lazy) {
+                forEach.visitVarInsn(Opcodes.ALOAD, 0);
+                forEach.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+                forEach.visitJumpInsn(Opcodes.IFNULL, skipVisit);
+            }
+            forEach.visitVarInsn(Opcodes.ALOAD, 1);
+            forEach.visitVarInsn(Opcodes.ALOAD, 2);
+            // stack: visitor context
+            forEach.visitFieldInsn(Opcodes.GETSTATIC, containerImplName, "componentKeys", keySetDescriptor);
+            forEach.visitLdcInsn(keyIndex++);
+            forEach.visitMethodInsn(Opcodes.INVOKEVIRTUAL, COMPONENT_KEY_SET, "get", "(I)L" + COMPONENT_TYPE + ";", false);
+            // stack: visitor context key
+            generateComponentLoad(forEach, containerImplName, entry.getKey(), entry.getValue(), factoryFieldDescriptor, false);
+            // stack: visitor context key component
+            forEach.visitMethodInsn(Opcodes.INVOKEINTERFACE, COMPONENT_VISITOR, "visit", COMPONENT_VISITOR_VISIT_DESC, true);
+            // <empty stack>
+            forEach.visitLabel(skipVisit);
+
+            /* tick implementation - lazy components only start ticking once created */
+            int tickInterval = getTickInterval(impl);
             if (ServerTickingComponent.class.isAssignableFrom(impl)) {
-                generateTickImpl(containerImplName, serverTick, componentFieldName, impl, componentFieldDescriptor, "serverTick");
+                String delayField = tickInterval > 1 ? generateTickDelayField(classNode, init, containerImplName, identifier, "serverTick", tickInterval) : null;
+                generateTickImpl(containerImplName, serverTick, componentFieldName, impl, componentFieldDescriptor, "serverTick", lazy, delayField, tickInterval);
+                hasServerTicking = true;
             }
             if (ClientTickingComponent.class.isAssignableFrom(impl)) {
-                generateTickImpl(containerImplName, clientTick, componentFieldName, impl, componentFieldDescriptor, "clientTick");
+                String delayField = tickInterval > 1 ? generateTickDelayField(classNode, init, containerImplName, identifier, "clientTick", tickInterval) : null;
+                generateTickImpl(containerImplName, clientTick, componentFieldName, impl, componentFieldDescriptor, "clientTick", lazy, delayField, tickInterval);
+                hasClientTicking = true;
+            }
+            if (systemFieldName != null) {
+                /* batched ticking - lazy components that were never created are ignored by the batch */
+                serverTick.visitFieldInsn(Opcodes.GETSTATIC, containerImplName, systemFieldName, COMPONENT_SYSTEM_BATCH_DESC);
+                generateComponentLoad(serverTick, containerImplName, entry.getKey(), entry.getValue(), factoryFieldDescriptor, false);
+                // stack: batch component
+                serverTick.visitMethodInsn(Opcodes.INVOKEVIRTUAL, COMPONENT_SYSTEM_BATCH, "add", "(L" + COMPONENT + ";)V", false);
+                // <empty stack>
+                hasServerTicking = true;
+            }
+            if (AsyncServerTickingComponent.class.isAssignableFrom(impl)) {
+                String delayField = tickInterval > 1 ? generateTickDelayField(classNode, init, containerImplName, identifier, "asyncServerTick", tickInterval) : null;
+                generateTickImpl(containerImplName, asyncServerTick, componentFieldName, impl, componentFieldDescriptor, "asyncServerTick", lazy, delayField, tickInterval);
+                hasAsyncServerTicking = true;
             }
         }
         init.visitInsn(Opcodes.RETURN);
         init.visitEnd();
+        clinit.visitInsn(Opcodes.RETURN);
+        clinit.visitEnd();
+        generateIndexedGetter(classNode, containerImplName, sorted, factoryFieldDescriptor, "getByIndex", true);
+
+        if (hasLazyComponents) {
+            generateIndexedGetter(classNode, containerImplName, sorted, factoryFieldDescriptor, "getCreatedByIndex", false);
+            generateConstantGetter(classNode, "hasLazyComponents", true);
+            generateFactoryArgumentsRebind(classNode, containerImplName, actualCtorArgs);
+        }
+
+        for (var kindEntry : primitives.entrySet()) {
+            generatePrimitiveAccessors(classNode, containerImplName, kindEntry.getKey(), kindEntry.getValue());
+        }
+        forEach.visitInsn(Opcodes.RETURN);
+        forEach.visitEnd();
+        if (hasAsyncServerTicking) {
+            /* async components get ticked later in the server tick, by the async tick phase */
+            serverTick.visitVarInsn(Opcodes.ALOAD, 0);
+            serverTick.visitMethodInsn(Opcodes.INVOKESTATIC, ASYNC_SERVER_TICK_PHASE, "schedule", "(L" + DYNAMIC_COMPONENT_CONTAINER_IMPL + ";)V", false);
+        }
         serverTick.visitInsn(Opcodes.RETURN);
         serverTick.visitEnd();
+        asyncServerTick.visitInsn(Opcodes.RETURN);
+        asyncServerTick.visitEnd();
         clientTick.visitInsn(Opcodes.RETURN);
         clientTick.visitEnd();
+        generateConstantGetter(classNode, "hasServerTickingComponents", hasServerTicking || hasAsyncServerTicking);
+        generateConstantGetter(classNode, "hasClientTickingComponents", hasClientTicking);
 
-        Class<? extends ComponentContainer> ret = generateClass(classNode).asSubclass(ComponentContainer.class);
+        classNode.visitEnd();
+        return classNode;
+    }
 
-        try {
-            Field keySet = ret.getDeclaredField("componentKeys");
-            keySet.setAccessible(true);
-            // TODO use a custom class with baked in immutability + BitSet contains + array iterator
-            keySet.set(null, Collections.unmodifiableSet(new ReferenceArraySet<>(sorted.keySet())));
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new StaticComponentLoadingException("Failed to initialize the set of component keys for " + ret, e);
+    private static void generateClassDataLoad(MethodVisitor clinit, String containerImplName, String fieldName, String fieldDescriptor, int index) {
+        clinit.visitVarInsn(Opcodes.ALOAD, 0);
+        clinit.visitLdcInsn(index);
+        clinit.visitInsn(Opcodes.AALOAD);
+        // stack: object
+        clinit.visitTypeInsn(Opcodes.CHECKCAST, Type.getType(fieldDescriptor).getInternalName());
+        // stack: value
+        clinit.visitFieldInsn(Opcodes.PUTSTATIC, containerImplName, fieldName, fieldDescriptor);
+        // <empty stack>
+    }
+
+    /**
+     * Generates the {@link AbstractComponentContainer#rebindFactoryArguments(Object...)} override,
+     * replacing the factory arguments stored for lazy components.
+     */
+    private static void generateFactoryArgumentsRebind(ClassNode classNode, String containerImplName, Type[] factoryArgs) {
+        MethodVisitor rebind = classNode.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_VARARGS, "rebindFactoryArguments", "([Ljava/lang/Object;)V", null, null);
+        rebind.visitCode();
+        for (int i = 0; i < factoryArgs.length; i++) {
+            rebind.visitVarInsn(Opcodes.ALOAD, 0);
+            rebind.visitVarInsn(Opcodes.ALOAD, 1);
+            rebind.visitLdcInsn(i);
+            rebind.visitInsn(Opcodes.AALOAD);
+            rebind.visitTypeInsn(Opcodes.CHECKCAST, factoryArgs[i].getInternalName());
+            // stack: <this> arg
+            rebind.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, getFactoryArgFieldName(i), factoryArgs[i].getDescriptor());
+            // <empty stack>
         }
+        rebind.visitInsn(Opcodes.RETURN);
+        rebind.visitEnd();
+    }
 
-        for (var entry : sorted.entrySet()) {
-            try {
-                Field factoryField = ret.getDeclaredField(getFactoryFieldName(entry.getKey().getId()));
-                factoryField.setAccessible(true);
-                factoryField.set(null, entry.getValue().factory());
-            } catch (NoSuchFieldException | IllegalAccessException e) {
-                throw new StaticComponentLoadingException("Failed to initialize factory field for component type " + entry.getKey(), e);
-            }
+    private static void generateConstantGetter(ClassNode classNode, String name, boolean value) {
+        MethodVisitor getter = classNode.visitMethod(Opcodes.ACC_PUBLIC, name, "()Z", null, null);
+        getter.visitCode();
+        getter.visitInsn(value ? Opcodes.ICONST_1 : Opcodes.ICONST_0);
+        getter.visitInsn(Opcodes.IRETURN);
+        getter.visitEnd();
+    }
+
+    private static int getTickInterval(Class<? extends Component> impl) {
+        TickInterval annotation = impl.getAnnotation(TickInterval.class);
+
+        if (annotation == null) return 1;
+
+        if (annotation.value() < 1) {
+            throw new IllegalArgumentException("Invalid tick interval " + annotation.value() + " on " + impl + ", must be strictly positive");
         }
-        return ret;
+
+        return annotation.value();
     }
 
-    private static void generateTickImpl(String containerImplName, MethodVisitor tick, String componentFieldName, Class<? extends Component> impl, String componentFieldDescriptor, String target) {
+    /**
+     * Declares the countdown field of a component with a tick interval, and initializes it in the constructor.
+     *
+     * @return the name of the declared field
+     */
+    private static String generateTickDelayField(ClassNode classNode, MethodVisitor init, String containerImplName, Identifier identifier, String target, int tickInterval) {
+        String delayFieldName = target + "Delay$" + getJavaIdentifierName(identifier);
+        classNode.visitField(Opcodes.ACC_PRIVATE, delayFieldName, "I", null, null).visitEnd();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitLdcInsn(tickInterval);
+        init.visitMethodInsn(Opcodes.INVOKESTATIC, DYNAMIC_COMPONENT_CONTAINER_IMPL, "initialTickDelay", "(I)I", false);
+        // stack: <this> delay
+        init.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, delayFieldName, "I");
+        // <empty stack>
+        return delayFieldName;
+    }
+
+    private static void generateTickImpl(String containerImplName, MethodVisitor tick, String componentFieldName, Class<? extends Component> impl, String componentFieldDescriptor, String target, boolean lazy, @Nullable String delayFieldName, int tickInterval) {
+        Label notCreated = new Label();
+        Label end = new Label();
+        Label notDue = new Label();
+        if (delayFieldName != null) {
+            /* countdown, the component only ticks when the delay reaches 0 */
+            tick.visitVarInsn(Opcodes.ALOAD, 0);
+            tick.visitInsn(Opcodes.DUP);
+            tick.visitFieldInsn(Opcodes.GETFIELD, containerImplName, delayFieldName, "I");
+            tick.visitInsn(Opcodes.ICONST_1);
+            tick.visitInsn(Opcodes.ISUB);
+            // stack: <this> delay-1
+            tick.visitInsn(Opcodes.DUP_X1);
+            tick.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, delayFieldName, "I");
+            // stack: delay-1
+            tick.visitJumpInsn(Opcodes.IFGT, notDue);
+            // <empty stack>
+            tick.visitVarInsn(Opcodes.ALOAD, 0);
+            tick.visitLdcInsn(tickInterval);
+            tick.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, delayFieldName, "I");
+        }
         tick.visitVarInsn(Opcodes.ALOAD, 0);
         // stack: <this>
         tick.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
         // stack: component
+        if (lazy) {
+            tick.visitInsn(Opcodes.DUP);
+            tick.visitJumpInsn(Opcodes.IFNULL, notCreated);
+        }
         if (impl.isInterface()) {
             tick.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(impl), target, "()V", true);
         } else {
             tick.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(impl), target, "()V", false);
         }
+        if (lazy) {
+            // <empty stack>
+            tick.visitJumpInsn(Opcodes.GOTO, end);
+            tick.visitLabel(notCreated);
+            // stack: null
+            tick.visitInsn(Opcodes.POP);
+            tick.visitLabel(end);
+        }
+        if (delayFieldName != null) {
+            tick.visitLabel(notDue);
+        }
+    }
+
+    /**
+     * Generates a call to a component factory, leaving the created component on the stack.
+     *
+     * @param argsFromFields {@code true} to load the factory arguments from the container's fields,
+     *                       {@code false} to load them from the constructor's parameters
+     */
+    private static void generateFactoryCall(MethodVisitor mv, String containerImplName, String componentFactoryName, Method sam, String factoryFieldName, String factoryFieldDescriptor, Type[] factoryArgs, boolean argsFromFields, String nullComponentMessage, Class<? extends Component> impl) {
+        mv.visitFieldInsn(Opcodes.GETSTATIC, containerImplName, factoryFieldName, factoryFieldDescriptor);
+        // stack: factory
+        for (int i = 0; i < factoryArgs.length; i++) {
+            if (argsFromFields) {
+                mv.visitVarInsn(Opcodes.ALOAD, 0);
+                mv.visitFieldInsn(Opcodes.GETFIELD, containerImplName, getFactoryArgFieldName(i), factoryArgs[i].getDescriptor());
+            } else {
+                mv.visitVarInsn(Opcodes.ALOAD, i + 1);    // first arg is for the container itself
+            }
+        }
+        // stack: factory factoryArgs...
+        // initialize the component by calling the factory
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, componentFactoryName, sam.getName(), Type.getMethodDescriptor(sam), true);
+        // stack: component
+        mv.visitLdcInsn(nullComponentMessage);
+        // stack: component, errorMsg
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Objects", "requireNonNull", "(Ljava/lang/Object;Ljava/lang/String;)Ljava/lang/Object;", false);
+        // stack: object
+        mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(impl));
+        // stack: component
+    }
+
+    /**
+     * Generates a read of a component, leaving it on the stack. Primitive components are read through a view,
+     * which gets created on first access and cached in the container.
+     *
+     * @param materialize {@code true} to create lazy components if necessary, {@code false} to load {@code null}
+     *                    for lazy components that were never created
+     */
+    private static void generateComponentLoad(MethodVisitor mv, String containerImplName, ComponentKey<?> key, QualifiedComponentFactory<?> factory, String factoryFieldDescriptor, boolean materialize) {
+        Identifier identifier = key.getId();
+        String componentFieldDescriptor = getComponentFieldDescriptor(factory);
+        PrimitiveComponentFactory<?, ?> primitive = getPrimitiveFactory(factory);
+
+        if (primitive != null) {
+            String viewName = Type.getInternalName(primitive.kind().viewClass());
+            String viewFieldName = getPrimitiveViewFieldName(identifier);
+            String viewFieldDescriptor = Type.getDescriptor(primitive.kind().viewClass());
+            Label created = new Label();
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitFieldInsn(Opcodes.GETFIELD, containerImplName, viewFieldName, viewFieldDescriptor);
+            // stack: view
+            mv.visitInsn(Opcodes.DUP);
+            mv.visitJumpInsn(Opcodes.IFNONNULL, created);
+            // stack: null
+            mv.visitInsn(Opcodes.POP);
+            // views hold no state of their own, so threads racing to create one are harmless
+            mv.visitTypeInsn(Opcodes.NEW, viewName);
+            mv.visitInsn(Opcodes.DUP);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitLdcInsn(key.getRawIndex());
+            mv.visitFieldInsn(Opcodes.GETSTATIC, containerImplName, getFactoryFieldName(identifier), factoryFieldDescriptor);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, PRIMITIVE_COMPONENT_FACTORY);
+            // stack: view view <this> rawIndex factory
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, viewName, "<init>", PRIMITIVE_VIEW_CTOR_DESC, false);
+            // stack: view
+            mv.visitInsn(Opcodes.DUP);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitInsn(Opcodes.SWAP);
+            // stack: view <this> view
+            mv.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, viewFieldName, viewFieldDescriptor);
+            mv.visitLabel(created);
+            // stack: view
+            return;
+        }
+
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitFieldInsn(Opcodes.GETFIELD, containerImplName, getJavaIdentifierName(identifier), componentFieldDescriptor);
+        // stack: component
+        if (materialize && isLazy(factory)) {
+            /* lock-free once created, the materializer only runs while the component is missing */
+            Label created = new Label();
+            mv.visitInsn(Opcodes.DUP);
+            mv.visitJumpInsn(Opcodes.IFNONNULL, created);
+            // stack: null
+            mv.visitInsn(Opcodes.POP);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, containerImplName, getMaterializerName(identifier), "()" + componentFieldDescriptor, false);
+            mv.visitLabel(created);
+            // stack: component
+        }
+    }
+
+    /**
+     * Generates the {@link AbstractComponentContainer} getter and setter for one kind of primitive components,
+     * as switches over the {@linkplain ComponentKey#getRawIndex() raw indices} of their keys.
+     * Setters also bump the container's primitive save revision.
+     */
+    private static void generatePrimitiveAccessors(ClassNode classNode, String containerImplName, PrimitiveComponentFactory.Kind kind, List<ComponentKey<?>> keys) {
+        Type valueType = Type.getType(kind.descriptor());
+        List<ComponentKey<?>> sortedKeys = new ArrayList<>(keys);
+        sortedKeys.sort(Comparator.comparingInt(ComponentKey::getRawIndex));
+        int[] indices = sortedKeys.stream().mapToInt(ComponentKey::getRawIndex).toArray();
+
+        MethodVisitor getter = classNode.visitMethod(Opcodes.ACC_PUBLIC, kind.getterName(), Type.getMethodDescriptor(valueType, Type.INT_TYPE), null, null);
+        getter.visitCode();
+        Label getterDefault = new Label();
+        Label[] getterLabels = newLabels(indices.length);
+        getter.visitVarInsn(Opcodes.ILOAD, 1);
+        getter.visitLookupSwitchInsn(getterDefault, indices, getterLabels);
+        for (int i = 0; i < indices.length; i++) {
+            getter.visitLabel(getterLabels[i]);
+            getter.visitVarInsn(Opcodes.ALOAD, 0);
+            getter.visitFieldInsn(Opcodes.GETFIELD, containerImplName, getJavaIdentifierName(sortedKeys.get(i).getId()), kind.descriptor());
+            // stack: value
+            getter.visitInsn(valueType.getOpcode(Opcodes.IRETURN));
+        }
+        getter.visitLabel(getterDefault);
+        // unknown index, let the superclass throw
+        getter.visitVarInsn(Opcodes.ALOAD, 0);
+        getter.visitVarInsn(Opcodes.ILOAD, 1);
+        getter.visitMethodInsn(Opcodes.INVOKESPECIAL, STATIC_COMPONENT_CONTAINER, kind.getterName(), Type.getMethodDescriptor(valueType, Type.INT_TYPE), false);
+        getter.visitInsn(valueType.getOpcode(Opcodes.IRETURN));
+        getter.visitEnd();
+
+        MethodVisitor setter = classNode.visitMethod(Opcodes.ACC_PUBLIC, kind.setterName(), Type.getMethodDescriptor(Type.VOID_TYPE, Type.INT_TYPE, valueType), null, null);
+        setter.visitCode();
+        Label setterDefault = new Label();
+        Label[] setterLabels = newLabels(indices.length);
+        setter.visitVarInsn(Opcodes.ILOAD, 1);
+        setter.visitLookupSwitchInsn(setterDefault, indices, setterLabels);
+        for (int i = 0; i < indices.length; i++) {
+            setter.visitLabel(setterLabels[i]);
+            setter.visitVarInsn(Opcodes.ALOAD, 0);
+            setter.visitVarInsn(valueType.getOpcode(Opcodes.ILOAD), 2);
+            // stack: <this> value
+            setter.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, getJavaIdentifierName(sortedKeys.get(i).getId()), kind.descriptor());
+            // <empty stack>
+            setter.visitVarInsn(Opcodes.ALOAD, 0);
+            setter.visitMethodInsn(Opcodes.INVOKEVIRTUAL, containerImplName, "markPrimitiveChanged", "()V", false);
+            setter.visitInsn(Opcodes.RETURN);
+        }
+        setter.visitLabel(setterDefault);
+        setter.visitVarInsn(Opcodes.ALOAD, 0);
+        setter.visitVarInsn(Opcodes.ILOAD, 1);
+        setter.visitVarInsn(valueType.getOpcode(Opcodes.ILOAD), 2);
+        setter.visitMethodInsn(Opcodes.INVOKESPECIAL, STATIC_COMPONENT_CONTAINER, kind.setterName(), Type.getMethodDescriptor(Type.VOID_TYPE, Type.INT_TYPE, valueType), false);
+        setter.visitInsn(Opcodes.RETURN);
+        setter.visitEnd();
+    }
+
+    private static Label[] newLabels(int count) {
+        Label[] labels = new Label[count];
+        for (int i = 0; i < count; i++) {
+            labels[i] = new Label();
+        }
+        return labels;
+    }
+
+    private static @Nullable PrimitiveComponentFactory<?, ?> getPrimitiveFactory(QualifiedComponentFactory<?> factory) {
+        return factory.factory() instanceof PrimitiveComponentFactory<?, ?> primitive ? primitive : null;
+    }
+
+    /**
+     * @return the descriptor of the field storing a component, a primitive type for primitive components
+     */
+    private static String getComponentFieldDescriptor(QualifiedComponentFactory<?> factory) {
+        PrimitiveComponentFactory<?, ?> primitive = getPrimitiveFactory(factory);
+        return primitive != null ? primitive.kind().descriptor() : Type.getDescriptor(factory.impl());
+    }
+
+    /**
+     * @return {@code true} if the component is created lazily, which is never the case for primitive components
+     */
+    private static boolean isLazy(QualifiedComponentFactory<?> factory) {
+        return factory.lazy() && getPrimitiveFactory(factory) == null;
+    }
+
+    /**
+     * Generates {@link AbstractComponentContainer#getByIndex(int)} or {@link AbstractComponentContainer#getCreatedByIndex(int)},
+     * as a switch over the {@linkplain ComponentKey#getRawIndex() raw indices} of the container's keys.
+     *
+     * @param name        the name of the generated method
+     * @param materialize {@code true} to create lazy components if necessary, {@code false} to return {@code null}
+     *                    for lazy components that were never created
+     */
+    private static <I> void generateIndexedGetter(ClassNode classNode, String containerImplName, Map<ComponentKey<?>, QualifiedComponentFactory<I>> components, String factoryFieldDescriptor, String name, boolean materialize) {
+        MethodVisitor getter = classNode.visitMethod(Opcodes.ACC_PUBLIC, name, CONTAINER_INDEXED_GETTER_DESC, null, null);
+        getter.visitCode();
+        Label notFound = new Label();
+
+        if (!components.isEmpty()) {
+            List<Map.Entry<ComponentKey<?>, QualifiedComponentFactory<I>>> entries = new ArrayList<>(components.entrySet());
+            entries.sort(Comparator.comparingInt(e -> e.getKey().getRawIndex()));
+            int[] indices = new int[entries.size()];
+            Label[] labels = new Label[entries.size()];
+
+            for (int i = 0; i < entries.size(); i++) {
+                indices[i] = entries.get(i).getKey().getRawIndex();
+                labels[i] = new Label();
+            }
+
+            int min = indices[0];
+            int max = indices[indices.length - 1];
+            getter.visitVarInsn(Opcodes.ILOAD, 1);
+            // stack: index
+            if ((long) max - min + 1 <= 2L * indices.length + 4) {
+                // dense enough for a jump table - fill the gaps with the default branch
+                Label[] table = new Label[max - min + 1];
+                Arrays.fill(table, notFound);
+                for (int i = 0; i < indices.length; i++) {
+                    table[indices[i] - min] = labels[i];
+                }
+                getter.visitTableSwitchInsn(min, max, notFound, table);
+            } else {
+                getter.visitLookupSwitchInsn(notFound, indices, labels);
+            }
+            // <empty stack>
+
+            for (int i = 0; i < entries.size(); i++) {
+                var entry = entries.get(i);
+                getter.visitLabel(labels[i]);
+                generateComponentLoad(getter, containerImplName, entry.getKey(), entry.getValue(), factoryFieldDescriptor, materialize);
+                // stack: component
+                getter.visitInsn(Opcodes.ARETURN);
+            }
+        }
+
+        getter.visitLabel(notFound);
+        getter.visitInsn(Opcodes.ACONST_NULL);
+        getter.visitInsn(Opcodes.ARETURN);
+        getter.visitEnd();
     }
 
     private static String getFactoryFieldName(Identifier identifier) {
         return getJavaIdentifierName(identifier) + "$factory";
     }
 
+    private static String getCreatingFieldName(Identifier identifier) {
+        return getJavaIdentifierName(identifier) + "$creating";
+    }
+
+    private static String getMaterializerName(Identifier identifier) {
+        return "materialize$" + getJavaIdentifierName(identifier);
+    }
+
+    private static String getPrimitiveViewFieldName(Identifier identifier) {
+        return getJavaIdentifierName(identifier) + "$view";
+    }
+
+    private static String getFactoryArgFieldName(int index) {
+        return "factoryArg$" + index;
+    }
+
     public static void checkValidJavaIdentifier(String implNameSuffix) {
         for (int i = 0; i < implNameSuffix.length(); i++) {
             if (!Character.isJavaIdentifierPart(implNameSuffix.charAt(i))) {
@@ -54,7 +54,7 @@ import java.util.TreeSet;
 public final class CcaBootstrap extends LazyDispatcher {
 
     public static final String COMPONENT_TYPE_INIT_DESC = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getObjectType(CcaAsmHelper.IDENTIFIER), Type.getType(Class.class));
-    public static final String COMPONENT_TYPE_GET0_DESC = "(L" + CcaAsmHelper.COMPONENT_CONTAINER + ";)L" + CcaAsmHelper.COMPONENT + ";";
+    public static final String COMPONENT_TYPE_SUPER_INIT_DESC = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getObjectType(CcaAsmHelper.IDENTIFIER), Type.getType(Class.class), Type.INT_TYPE);
     public static final String STATIC_INIT_ENTRYPOINT = "cardinal-components:static-init";
     public static final CcaBootstrap INSTANCE = new CcaBootstrap();
 
@@ -62,6 +62,7 @@ public final class CcaBootstrap extends LazyDispatcher {
 
     @VisibleForTesting Collection<Identifier> additionalComponentIds = new ArrayList<>();
     private Map<Identifier, Class<? extends ComponentKey<?>>> generatedComponentTypes = new HashMap<>();
+    private List<Identifier> staticComponentIds = List.of();
 
     public CcaBootstrap() {
         super("registering a ComponentType");
@@ -79,6 +80,14 @@ public final class CcaBootstrap extends LazyDispatcher {
         return this.generatedComponentTypes.get(componentId);
     }
 
+    /**
+     * @return every statically declared component id, ordered by {@linkplain ComponentKey#getRawIndex() raw index}
+     */
+    public List<Identifier> getStaticComponentIds() {
+        this.ensureInitialized();
+        return this.staticComponentIds;
+    }
+
     @Override
     protected void init() {
         try {
@@ -108,8 +117,10 @@ public final class CcaBootstrap extends LazyDispatcher {
 
             staticComponentTypes.addAll(this.additionalComponentIds);
 
+            GeneratedClassCache.open(staticComponentTypes);
             this.spinStaticContainerItf(staticComponentTypes);
             this.generatedComponentTypes = this.spinStaticComponentKeys(staticComponentTypes);
+            this.staticComponentIds = List.copyOf(staticComponentTypes);
         } catch (IOException | UncheckedIOException e) {
             throw new StaticComponentLoadingException("Failed to load statically defined components", e);
         }
@@ -127,40 +138,37 @@ public final class CcaBootstrap extends LazyDispatcher {
      * a global {@link ComponentProvider} specialized interface
      * that declares a direct getter for every {@link ComponentKey} that has been scanned by plugins.
      *
+     * <p>Each generated key is assigned a {@linkplain ComponentKey#getRawIndex() raw index}
+     * corresponding to its position in {@code staticComponentKeys}.
+     *
      * @param staticComponentKeys the set of all statically declared {@link ComponentKey} ids
      * @return a map of {@link ComponentKey} ids to specialized implementations
      */
     private Map<Identifier, Class<? extends ComponentKey<?>>> spinStaticComponentKeys(Set<Identifier> staticComponentKeys) throws IOException {
         Map<Identifier, Class<? extends ComponentKey<?>>> generatedComponentTypes = new HashMap<>(staticComponentKeys.size());
+        int rawIndex = 0;
 
         for (Identifier componentId : staticComponentKeys) {
             /* generate the component type class */
 
-            ClassNode componentTypeWriter = new ClassNode(CcaAsmHelper.ASM_VERSION);
             String componentTypeName = CcaAsmHelper.getComponentTypeName(componentId);
-            componentTypeWriter.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, componentTypeName, null, CcaAsmHelper.COMPONENT_TYPE, null);
-
-            MethodVisitor init = componentTypeWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", COMPONENT_TYPE_INIT_DESC, null, null);
-            init.visitCode();
-            init.visitVarInsn(Opcodes.ALOAD, 0);
-            init.visitVarInsn(Opcodes.ALOAD, 1);
-            init.visitVarInsn(Opcodes.ALOAD, 2);
-            init.visitMethodInsn(Opcodes.INVOKESPECIAL, CcaAsmHelper.COMPONENT_TYPE, "<init>", COMPONENT_TYPE_INIT_DESC, false);
-            init.visitInsn(Opcodes.RETURN);
-            init.visitEnd();
-
-            MethodVisitor get = componentTypeWriter.visitMethod(Opcodes.ACC_PROTECTED, "getInternal", COMPONENT_TYPE_GET0_DESC, null, null);
-            get.visitCode();
-            get.visitVarInsn(Opcodes.ALOAD, 1);
-            // stack: object
-            get.visitTypeInsn(Opcodes.CHECKCAST, CcaAsmHelper.STATIC_COMPONENT_CONTAINER);
-            // stack: generatedComponentContainer
-            get.visitMethodInsn(Opcodes.INVOKEVIRTUAL, CcaAsmHelper.STATIC_COMPONENT_CONTAINER, CcaAsmHelper.getStaticStorageGetterName(componentId), CcaAsmHelper.STATIC_CONTAINER_GETTER_DESC, false);
-            // stack: component
-            get.visitInsn(Opcodes.ARETURN);
-            get.visitEnd();
-
-            @SuppressWarnings("unchecked") Class<? extends ComponentKey<?>> ct = (Class<? extends ComponentKey<?>>) CcaAsmHelper.generateClass(componentTypeWriter);
+            int keyIndex = rawIndex++;
+            @SuppressWarnings("unchecked") Class<? extends ComponentKey<?>> ct = (Class<? extends ComponentKey<?>>) CcaAsmHelper.generateCachedClass(componentTypeName, "raw index " + keyIndex, () -> {
+                ClassNode componentTypeWriter = new ClassNode(CcaAsmHelper.ASM_VERSION);
+                componentTypeWriter.visit(CcaAsmHelper.CLASS_VERSION, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, componentTypeName, null, CcaAsmHelper.COMPONENT_TYPE, null);
+
+                MethodVisitor init = componentTypeWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", COMPONENT_TYPE_INIT_DESC, null, null);
+                init.visitCode();
+                init.visitVarInsn(Opcodes.ALOAD, 0);
+                init.visitVarInsn(Opcodes.ALOAD, 1);
+                init.visitVarInsn(Opcodes.ALOAD, 2);
+                init.visitLdcInsn(keyIndex);
+                init.visitMethodInsn(Opcodes.INVOKESPECIAL, CcaAsmHelper.COMPONENT_TYPE, "<init>", COMPONENT_TYPE_SUPER_INIT_DESC, false);
+                init.visitInsn(Opcodes.RETURN);
+                init.visitEnd();
+                componentTypeWriter.visitEnd();
+                return componentTypeWriter;
+            });
             generatedComponentTypes.put(componentId, ct);
         }
         return generatedComponentTypes;
@@ -170,25 +178,28 @@ public final class CcaBootstrap extends LazyDispatcher {
      * Generate the component container interface implemented by all component containers
      */
     private void spinStaticContainerItf(Set<Identifier> staticComponentTypes) throws IOException {
-        ClassNode staticContainerWriter = new ClassNode(CcaAsmHelper.ASM_VERSION);
-        staticContainerWriter.visit(Opcodes.V1_8, Opcodes.ACC_ABSTRACT | Opcodes.ACC_PUBLIC, CcaAsmHelper.STATIC_COMPONENT_CONTAINER, null, CcaAsmHelper.DYNAMIC_COMPONENT_CONTAINER_IMPL, null);
-
-        MethodVisitor init = staticContainerWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", CcaAsmHelper.ABSTRACT_COMPONENT_CONTAINER_CTOR_DESC, null, null);
-        init.visitCode();
-        init.visitVarInsn(Opcodes.ALOAD, 0);
-        init.visitMethodInsn(Opcodes.INVOKESPECIAL, CcaAsmHelper.DYNAMIC_COMPONENT_CONTAINER_IMPL, "<init>", CcaAsmHelper.ABSTRACT_COMPONENT_CONTAINER_CTOR_DESC, false);
-        init.visitInsn(Opcodes.RETURN);
-        init.visitEnd();
-
-        for (Identifier componentId : staticComponentTypes) {
-            MethodVisitor methodWriter = staticContainerWriter.visitMethod(Opcodes.ACC_PUBLIC, CcaAsmHelper.getStaticStorageGetterName(componentId), CcaAsmHelper.STATIC_CONTAINER_GETTER_DESC, null, null);
-            methodWriter.visitInsn(Opcodes.ACONST_NULL);
-            methodWriter.visitInsn(Opcodes.ARETURN);
-            methodWriter.visitEnd();
-        }
+        // the set of static component ids is already part of the cache fingerprint
+        CcaAsmHelper.generateCachedClass(CcaAsmHelper.STATIC_COMPONENT_CONTAINER, "", () -> {
+            ClassNode staticContainerWriter = new ClassNode(CcaAsmHelper.ASM_VERSION);
+            staticContainerWriter.visit(CcaAsmHelper.CLASS_VERSION, Opcodes.ACC_ABSTRACT | Opcodes.ACC_PUBLIC, CcaAsmHelper.STATIC_COMPONENT_CONTAINER, null, CcaAsmHelper.DYNAMIC_COMPONENT_CONTAINER_IMPL, null);
+
+            MethodVisitor init = staticContainerWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", CcaAsmHelper.ABSTRACT_COMPONENT_CONTAINER_CTOR_DESC, null, null);
+            init.visitCode();
+            init.visitVarInsn(Opcodes.ALOAD, 0);
+            init.visitMethodInsn(Opcodes.INVOKESPECIAL, CcaAsmHelper.DYNAMIC_COMPONENT_CONTAINER_IMPL, "<init>", CcaAsmHelper.ABSTRACT_COMPONENT_CONTAINER_CTOR_DESC, false);
+            init.visitInsn(Opcodes.RETURN);
+            init.visitEnd();
+
+            for (Identifier componentId : staticComponentTypes) {
+                MethodVisitor methodWriter = staticContainerWriter.visitMethod(Opcodes.ACC_PUBLIC, CcaAsmHelper.getStaticStorageGetterName(componentId), CcaAsmHelper.STATIC_CONTAINER_GETTER_DESC, null, null);
+                methodWriter.visitInsn(Opcodes.ACONST_NULL);
+                methodWriter.visitInsn(Opcodes.ARETURN);
+                methodWriter.visitEnd();
+            }
 
-        staticContainerWriter.visitEnd();
-        CcaAsmHelper.generateClass(staticContainerWriter);
+            staticContainerWriter.visitEnd();
+            return staticContainerWriter;
+        });
     }
 
 }
@@ -0,0 +1,170 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base.asm;
+
+import dev.onyxstudios.cca.internal.base.ComponentsInternals;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.fabricmc.loader.api.metadata.ModMetadata;
+import net.minecraft.util.Identifier;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A persistent cache for the bytecode of generated classes, stored under the game directory.
+ *
+ * <p>Cached classes are grouped by a fingerprint of the installed mods, of the statically declared component ids,
+ * and of the bytecode of the class generators themselves.
+ * Each class file is further keyed by its name and a description of the inputs it was generated from,
+ * so that a stale entry can never be picked up for a different layout.
+ *
+ * <p>The cache is disabled in development environments, where mod code changes without its version changing.
+ * It can be toggled explicitly with the {@code cca.asm.cache} system property.
+ */
+public final class GeneratedClassCache {
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("cca.asm.cache", String.valueOf(!FabricLoader.getInstance().isDevelopmentEnvironment()))) && !CcaAsmHelper.DEBUG_CLASSES;
+    /**
+     * Classes whose code determines the bytecode of generated classes. Their own bytecode is part of the fingerprint,
+     * so that any change to the generators invalidates existing caches.
+     */
+    private static final List<Class<?>> GENERATORS = List.of(CcaAsmHelper.class, CcaBootstrap.class);
+    private static final Path CACHE_ROOT = FabricLoader.getInstance().getGameDir().resolve(".cardinal-components").resolve("class-cache");
+
+    private static @Nullable Path cacheDir;
+
+    /**
+     * Selects the cache directory matching the current game instance, and deletes the caches of other instances.
+     *
+     * @param staticComponentIds every statically declared component id, ordered by raw index
+     */
+    static synchronized void open(Iterable<Identifier> staticComponentIds) {
+        if (!ENABLED) return;
+
+        MessageDigest digest = newDigest();
+
+        for (Class<?> generator : GENERATORS) {
+            try (InputStream bytecode = generator.getResourceAsStream(generator.getSimpleName() + ".class")) {
+                if (bytecode == null) throw new NoSuchFileException(generator.getName());
+                digest.update(("generator " + generator.getName() + '\n').getBytes(StandardCharsets.UTF_8));
+                digest.update(bytecode.readAllBytes());
+            } catch (IOException e) {
+                ComponentsInternals.LOGGER.warn("Failed to read the bytecode of {}, generated classes will not be cached", generator.getName(), e);
+                return;
+            }
+        }
+
+        FabricLoader.getInstance().getAllMods().stream()
+            .map(ModContainer::getMetadata)
+            .sorted(Comparator.comparing(ModMetadata::getId))
+            .forEach(mod -> digest.update(("mod " + mod.getId() + ' ' + mod.getVersion().getFriendlyString() + '\n').getBytes(StandardCharsets.UTF_8)));
+
+        for (Identifier id : staticComponentIds) {
+            digest.update(("component " + id + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+
+        String fingerprint = HexFormat.of().formatHex(digest.digest());
+        cacheDir = CACHE_ROOT.resolve(fingerprint);
+
+        try (Stream<Path> instances = Files.list(CACHE_ROOT)) {
+            instances.filter(p -> !p.getFileName().toString().equals(fingerprint)).forEach(GeneratedClassCache::deleteInstance);
+        } catch (NoSuchFileException ignored) {
+            // first launch
+        } catch (IOException e) {
+            ComponentsInternals.LOGGER.warn("Failed to clean up generated class cache at {}", CACHE_ROOT, e);
+        }
+    }
+
+    /**
+     * @param className the internal name of the generated class
+     * @param inputs    a description of everything the generated bytecode depends on, besides the current game instance
+     * @return the cached bytecode for the class, or {@code null} if it has not been cached yet
+     */
+    static byte @Nullable [] load(String className, String inputs) {
+        Path file = getCacheFile(className, inputs);
+
+        if (file != null && Files.isRegularFile(file)) {
+            try {
+                return Files.readAllBytes(file);
+            } catch (IOException e) {
+                ComponentsInternals.LOGGER.warn("Failed to read cached class {} from {}", className, file, e);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Stores the bytecode of a freshly generated class, to be reused by {@link #load(String, String)} on later launches.
+     */
+    static void store(String className, String inputs, byte[] bytes) {
+        Path file = getCacheFile(className, inputs);
+
+        if (file != null) {
+            try {
+                Files.createDirectories(file.getParent());
+                Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+                Files.write(tmp, bytes);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                ComponentsInternals.LOGGER.warn("Failed to cache generated class {} at {}", className, file, e);
+            }
+        }
+    }
+
+    private static synchronized @Nullable Path getCacheFile(String className, String inputs) {
+        if (cacheDir == null) return null;
+        byte[] hash = newDigest().digest((className + '\n' + inputs).getBytes(StandardCharsets.UTF_8));
+        return cacheDir.resolve(HexFormat.of().formatHex(hash) + ".class");
+    }
+
+    private static void deleteInstance(Path instanceDir) {
+        try (Stream<Path> files = Files.walk(instanceDir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(p);
+            }
+        } catch (IOException e) {
+            ComponentsInternals.LOGGER.warn("Failed to delete stale generated class cache at {}", instanceDir, e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+}
@@ -45,6 +45,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 
 public abstract class StaticComponentPluginBase<T, I> extends LazyDispatcher {
@@ -101,31 +102,34 @@ public abstract class StaticComponentPluginBase<T, I> extends LazyDispatcher {
 
         String containerCtorDesc = Type.getConstructorDescriptor(constructors[0]);
         String containerImplName = Type.getInternalName(containerImpl);
-        ClassNode containerFactoryWriter = new ClassNode(CcaAsmHelper.ASM_VERSION);
         String factoryImplName = CcaAsmHelper.STATIC_CONTAINER_FACTORY + '_' + implNameSuffix;
-        containerFactoryWriter.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, factoryImplName, null, "java/lang/Object", new String[]{Type.getInternalName(containerFactoryType)});
-        MethodVisitor init = containerFactoryWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
-        init.visitVarInsn(Opcodes.ALOAD, 0);
-        init.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
-        init.visitInsn(Opcodes.RETURN);
-        init.visitEnd();
-        MethodVisitor createContainer = containerFactoryWriter.visitMethod(Opcodes.ACC_PUBLIC, factorySam.getName(), Type.getMethodDescriptor(factorySam), null, null);
-        createContainer.visitTypeInsn(Opcodes.NEW, containerImplName);
-        createContainer.visitInsn(Opcodes.DUP);
-        // stack: container, container
-        for (int i = 0; i < actualFactoryParams.size(); i++) {
-            createContainer.visitVarInsn(factoryArgs[i].getOpcode(Opcodes.ILOAD), i + 1);
-            if (factoryArgs[i].getSort() == Type.OBJECT || factoryArgs[i].getSort() == Type.ARRAY) {
-                createContainer.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(actualFactoryParams.get(i)));
+        String inputs = containerFactoryType.getName() + '\n' + containerImplName + containerCtorDesc + '\n' + actualFactoryParams;
+        @SuppressWarnings("unchecked") Class<? extends I> ret = (Class<? extends I>) CcaAsmHelper.generateCachedClass(factoryImplName, inputs, () -> {
+            ClassNode containerFactoryWriter = new ClassNode(CcaAsmHelper.ASM_VERSION);
+            containerFactoryWriter.visit(CcaAsmHelper.CLASS_VERSION, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, factoryImplName, null, "java/lang/Object", new String[]{Type.getInternalName(containerFactoryType)});
+            MethodVisitor init = containerFactoryWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+            init.visitVarInsn(Opcodes.ALOAD, 0);
+            init.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+            init.visitInsn(Opcodes.RETURN);
+            init.visitEnd();
+            MethodVisitor createContainer = containerFactoryWriter.visitMethod(Opcodes.ACC_PUBLIC, factorySam.getName(), Type.getMethodDescriptor(factorySam), null, null);
+            createContainer.visitTypeInsn(Opcodes.NEW, containerImplName);
+            createContainer.visitInsn(Opcodes.DUP);
+            // stack: container, container
+            for (int i = 0; i < actualFactoryParams.size(); i++) {
+                createContainer.visitVarInsn(factoryArgs[i].getOpcode(Opcodes.ILOAD), i + 1);
+                if (factoryArgs[i].getSort() == Type.OBJECT || factoryArgs[i].getSort() == Type.ARRAY) {
+                    createContainer.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(actualFactoryParams.get(i)));
+                }
             }
-        }
-        // stack: container, container, actualFactoryArgs...
-        createContainer.visitMethodInsn(Opcodes.INVOKESPECIAL, containerImplName, "<init>", containerCtorDesc, false);
-        // stack: container
-        createContainer.visitInsn(Opcodes.ARETURN);
-        createContainer.visitEnd();
-        containerFactoryWriter.visitEnd();
-        @SuppressWarnings("unchecked") Class<? extends I> ret = (Class<? extends I>) CcaAsmHelper.generateClass(containerFactoryWriter);
+            // stack: container, container, actualFactoryArgs...
+            createContainer.visitMethodInsn(Opcodes.INVOKESPECIAL, containerImplName, "<init>", containerCtorDesc, false);
+            // stack: container
+            createContainer.visitInsn(Opcodes.ARETURN);
+            createContainer.visitEnd();
+            containerFactoryWriter.visitEnd();
+            return containerFactoryWriter;
+        });
         return ret;
     }
 
@@ -183,4 +187,8 @@ public abstract class StaticComponentPluginBase<T, I> extends LazyDispatcher {
     protected <C extends Component> void register(ComponentKey<? super C> key, Class<C> impl, ComponentFactory<T, ? extends C> factory) {
         this.containerFactoryBuilder.component(key, impl, factory);
     }
+
+    protected <C extends Component> void registerLazy(ComponentKey<? super C> key, Class<C> impl, ComponentFactory<T, ? extends C> factory) {
+        this.containerFactoryBuilder.component(key, impl, factory, Set.of(), true);
+    }
 }
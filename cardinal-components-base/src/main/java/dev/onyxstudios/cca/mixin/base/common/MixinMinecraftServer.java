@@ -0,0 +1,63 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.mixin.base.common;
+
+import dev.onyxstudios.cca.internal.base.AsyncServerTickPhase;
+import dev.onyxstudios.cca.internal.base.ComponentSyncScheduler;
+import dev.onyxstudios.cca.internal.base.ComponentSystemBatch;
+import dev.onyxstudios.cca.internal.base.ContainerFactoryPregeneration;
+import net.minecraft.server.MinecraftServer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import java.util.function.BooleanSupplier;
+
+@Mixin(MinecraftServer.class)
+public abstract class MixinMinecraftServer {
+    @Inject(at = @At("HEAD"), method = "loadWorld")
+    private void prepareComponentTasks(CallbackInfo info) {
+        ComponentSyncScheduler.setServerThread(Thread.currentThread());
+        ContainerFactoryPregeneration.run();
+    }
+
+    @Inject(at = @At("TAIL"), method = "tickWorlds")
+    private void tickBatchedComponents(BooleanSupplier shouldKeepTicking, CallbackInfo info) {
+        ComponentSystemBatch.run();
+        AsyncServerTickPhase.run();
+    }
+
+    @Inject(at = @At("TAIL"), method = "tick")
+    private void flushComponentSyncs(BooleanSupplier shouldKeepTicking, CallbackInfo info) {
+        ComponentSyncScheduler.flush();
+    }
+
+    @Inject(at = @At("HEAD"), method = "shutdown")
+    private void clearPendingComponentTasks(CallbackInfo info) {
+        ComponentSyncScheduler.clear();
+        ComponentSyncScheduler.setServerThread(null);
+        AsyncServerTickPhase.clear();
+        ComponentSystemBatch.clear();
+    }
+}
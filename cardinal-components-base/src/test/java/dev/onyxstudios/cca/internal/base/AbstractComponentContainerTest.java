@@ -0,0 +1,191 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import net.minecraft.nbt.NbtCompound;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static dev.onyxstudios.cca.internal.base.TestComponentContainer.EAGER;
+import static dev.onyxstudios.cca.internal.base.TestComponentContainer.LAZY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AbstractComponentContainerTest {
+    private static final int THREADS = 16;
+
+    private static TestComponentContainer createContainer() {
+        return new TestComponentContainer(TestComponent::new, "owner");
+    }
+
+    private static NbtCompound savedData(int eagerValue, int lazyValue) {
+        NbtCompound componentMap = new NbtCompound();
+        componentMap.put(EAGER.getStringId(), componentData(eagerValue));
+        componentMap.put(LAZY.getStringId(), componentData(lazyValue));
+        NbtCompound tag = new NbtCompound();
+        tag.put(AbstractComponentContainer.NBT_KEY, componentMap);
+        return tag;
+    }
+
+    private static NbtCompound componentData(int value) {
+        NbtCompound data = new NbtCompound();
+        data.putInt("value", value);
+        return data;
+    }
+
+    private static int savedValue(NbtCompound tag, String keyId) {
+        return tag.getCompound(AbstractComponentContainer.NBT_KEY).getCompound(keyId).getInt("value");
+    }
+
+    private static int value(TestComponentContainer container, int rawIndex) {
+        return ((TestComponent) container.getByIndex(rawIndex)).value;
+    }
+
+    @Test
+    public void lazyDataIsWrittenBackUntilRead() {
+        TestComponentContainer container = createContainer();
+        container.fromTagDeferred(savedData(1, 2), false);
+
+        assertEquals(1, value(container, EAGER.getRawIndex()));
+        assertNull(container.getCreatedByIndex(LAZY.getRawIndex()));
+        assertTrue(container.hasDeferredData());
+
+        NbtCompound saved = container.toTag(new NbtCompound());
+        assertEquals(1, savedValue(saved, EAGER.getStringId()));
+        assertEquals(2, savedValue(saved, LAZY.getStringId()));
+        assertEquals(0, container.lazyCreations.get());
+    }
+
+    @Test
+    public void lazyComponentsReadTheirDataWhenCreated() {
+        TestComponentContainer container = createContainer();
+        container.fromTagDeferred(savedData(1, 2), false);
+
+        assertEquals(2, value(container, LAZY.getRawIndex()));
+        assertFalse(container.hasDeferredData());
+
+        ((TestComponent) container.getByIndex(LAZY.getRawIndex())).value = 5;
+        NbtCompound saved = container.toTag(new NbtCompound());
+        assertEquals(5, savedValue(saved, LAZY.getStringId()));
+
+        // a second round-trip goes through the same deferral
+        TestComponentContainer reloaded = createContainer();
+        reloaded.fromTagDeferred(saved, false);
+        assertEquals(savedValue(saved, LAZY.getStringId()), savedValue(reloaded.toTag(new NbtCompound()), LAZY.getStringId()));
+        assertEquals(5, value(reloaded, LAZY.getRawIndex()));
+    }
+
+    @Test
+    public void offThreadReadsDeferUnsafeComponents() {
+        TestComponentContainer container = createContainer();
+        container.fromTagDeferred(savedData(1, 2), true);
+
+        // TestComponent is not thread-safe, so even the eager component waits for the server thread
+        assertEquals(0, value(container, EAGER.getRawIndex()));
+        assertEquals(1, savedValue(container.toTag(new NbtCompound()), EAGER.getStringId()));
+
+        container.applyDeferredData();
+        assertEquals(1, value(container, EAGER.getRawIndex()));
+        assertNull(container.getCreatedByIndex(LAZY.getRawIndex()));
+        assertTrue(container.hasDeferredData());
+
+        container.materializeDeferredComponents();
+        assertEquals(2, value(container, LAZY.getRawIndex()));
+        assertFalse(container.hasDeferredData());
+        assertEquals(1, container.lazyCreations.get());
+    }
+
+    @Test
+    public void fromTagDropsDeferredData() {
+        TestComponentContainer container = createContainer();
+        container.fromTagDeferred(savedData(1, 2), false);
+
+        NbtCompound componentMap = new NbtCompound();
+        componentMap.put(EAGER.getStringId(), componentData(3));
+        NbtCompound tag = new NbtCompound();
+        tag.put(AbstractComponentContainer.NBT_KEY, componentMap);
+        container.fromTag(tag);
+
+        assertFalse(container.hasDeferredData());
+        assertEquals(3, value(container, EAGER.getRawIndex()));
+        assertEquals(0, value(container, LAZY.getRawIndex()));
+    }
+
+    @Test
+    public void copiesCarryDeferredData() {
+        TestComponentContainer source = createContainer();
+        source.fromTagDeferred(savedData(1, 2), false);
+
+        TestComponentContainer target = createContainer();
+        target.copyFrom(source);
+
+        assertEquals(1, value(target, EAGER.getRawIndex()));
+        assertEquals(2, value(target, LAZY.getRawIndex()));
+        // the source did not have to create its lazy component
+        assertNull(source.getCreatedByIndex(LAZY.getRawIndex()));
+    }
+
+    @RepeatedTest(20)
+    public void concurrentLookupsCreateLazyComponentsOnce() throws Exception {
+        TestComponentContainer container = createContainer();
+        container.fromTagDeferred(savedData(1, 2), false);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Component>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    Component lazy = container.getByIndex(LAZY.getRawIndex());
+                    // the component is only published once it has read its data
+                    assertEquals(2, ((TestComponent) lazy).value);
+                    return lazy;
+                }));
+            }
+            start.countDown();
+
+            Component expected = results.get(0).get(30, TimeUnit.SECONDS);
+            for (Future<Component> result : results) {
+                assertSame(expected, result.get(30, TimeUnit.SECONDS), "Threads got different components");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, container.lazyCreations.get());
+        assertFalse(container.hasDeferredData());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ComponentRegistryImplTest {
+    private static final int THREADS = 16;
+    private static final int KEY_COUNT = 200;
+
+    interface OtherComponent extends Component { }
+
+    @Test
+    public void registersKeysOnce() {
+        ComponentRegistryImpl registry = new ComponentRegistryImpl();
+        ComponentKey<TestComponent> key = TestComponentKeys.create("once", TestComponent.class, 0);
+
+        assertSame(key, registry.getOrCreate(key.getId(), TestComponent.class, () -> key));
+        assertSame(key, registry.getOrCreate(key.getId(), TestComponent.class, () -> TestComponentKeys.create("once", TestComponent.class, 0)));
+        assertSame(key, registry.get(key.getId()));
+        assertThrows(IllegalStateException.class, () -> registry.getOrCreate(key.getId(), OtherComponent.class, () -> TestComponentKeys.create("once", OtherComponent.class, 0)));
+    }
+
+    @Test
+    public void clearedKeysCanBeRegisteredAgain() {
+        ComponentRegistryImpl registry = new ComponentRegistryImpl();
+        ComponentKey<TestComponent> key = TestComponentKeys.create("cleared", TestComponent.class, 0);
+        registry.getOrCreate(key.getId(), TestComponent.class, () -> key);
+
+        registry.clear(key.getId());
+        assertNull(registry.get(key.getId()));
+        assertEquals(0, registry.stream().count());
+
+        ComponentKey<TestComponent> replacement = TestComponentKeys.create("cleared", TestComponent.class, 0);
+        assertSame(replacement, registry.getOrCreate(key.getId(), TestComponent.class, () -> replacement));
+        assertNotSame(key, registry.get(key.getId()));
+    }
+
+    @RepeatedTest(20)
+    public void concurrentRegistrationsCreateOneKey() throws Exception {
+        ComponentRegistryImpl registry = new ComponentRegistryImpl();
+        ComponentKey<TestComponent> key = TestComponentKeys.create("contended", TestComponent.class, 0);
+        AtomicInteger creations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ComponentKey<TestComponent>>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return registry.getOrCreate(key.getId(), TestComponent.class, () -> {
+                        creations.incrementAndGet();
+                        Thread.yield(); // widen the window for racing threads
+                        return TestComponentKeys.create("contended", TestComponent.class, 0);
+                    });
+                }));
+            }
+            start.countDown();
+
+            ComponentKey<TestComponent> expected = results.get(0).get(30, TimeUnit.SECONDS);
+            for (Future<ComponentKey<TestComponent>> result : results) {
+                assertSame(expected, result.get(30, TimeUnit.SECONDS), "Threads got different keys");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, creations.get());
+    }
+
+    @RepeatedTest(20)
+    public void lookupsSeeCompleteSnapshots() throws Exception {
+        ComponentRegistryImpl registry = new ComponentRegistryImpl();
+        List<ComponentKey<TestComponent>> keys = new ArrayList<>(KEY_COUNT);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys.add(TestComponentKeys.create("key_" + i, TestComponent.class, i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        List<Future<?>> readers = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < THREADS - 1; t++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    long lastSeen = 0;
+                    while (!done.get()) {
+                        // a single writer registers keys in order, so any snapshot holds exactly the first n keys
+                        List<ComponentKey<?>> snapshot = registry.stream().toList();
+                        for (int i = 0; i < snapshot.size(); i++) {
+                            assertSame(keys.get(i), snapshot.get(i), "Snapshot has a gap");
+                        }
+                        assertTrue(snapshot.size() >= lastSeen, "Registered keys disappeared");
+                        lastSeen = snapshot.size();
+                        // later lookups read the same snapshot or a newer one
+                        if (lastSeen > 0) assertNotNull(registry.get(keys.get((int) lastSeen - 1).getId()));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            for (ComponentKey<TestComponent> key : keys) {
+                assertSame(key, registry.getOrCreate(key.getId(), TestComponent.class, () -> key));
+            }
+            done.set(true);
+
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            done.set(true);
+            executor.shutdownNow();
+        }
+
+        assertEquals(keys, registry.stream().toList());
+    }
+}
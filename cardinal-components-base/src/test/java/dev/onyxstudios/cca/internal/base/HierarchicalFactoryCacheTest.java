@@ -0,0 +1,115 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HierarchicalFactoryCacheTest {
+    private static final int THREADS = 16;
+    private static final int LOOKUPS_PER_THREAD = 2_000;
+
+    static class Root { }
+    static class WithComponents extends Root { }
+    static class WithoutComponents extends WithComponents { }
+    static class WithMoreComponents extends WithoutComponents { }
+    static class Leaf extends WithMoreComponents { }
+    static class Sibling extends Root { }
+
+    private static final List<Class<? extends Root>> HIERARCHY = List.of(Root.class, WithComponents.class, WithoutComponents.class, WithMoreComponents.class, Leaf.class, Sibling.class);
+    private static final Set<Class<?>> DEDICATED = Set.of(Root.class, WithComponents.class, WithMoreComponents.class);
+
+    @Test
+    public void sharesFactoriesWithSuperclasses() {
+        HierarchicalFactoryCache<Root, String> cache = new HierarchicalFactoryCache<>(Root.class, DEDICATED::contains, Class::getSimpleName);
+        assertEquals("Root", cache.get(Sibling.class));
+        assertEquals("WithComponents", cache.get(WithoutComponents.class));
+        assertEquals("WithMoreComponents", cache.get(Leaf.class));
+        assertEquals("Root", cache.get(Root.class));
+    }
+
+    @RepeatedTest(20)
+    public void concurrentLookupsBuildEachFactoryOnce() throws Exception {
+        Map<Class<?>, AtomicInteger> builds = new ConcurrentHashMap<>();
+        HierarchicalFactoryCache<Root, Object> cache = new HierarchicalFactoryCache<>(Root.class, DEDICATED::contains, type -> {
+            builds.computeIfAbsent(type, t -> new AtomicInteger()).incrementAndGet();
+            Thread.yield(); // widen the window for racing threads
+            return new Object();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Object>>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    List<Object> seen = new ArrayList<>(Collections.nCopies(HIERARCHY.size(), null));
+                    for (int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+                        // each thread walks the hierarchy in a different order, so that subclasses and superclasses race
+                        int index = (i + offset) % HIERARCHY.size();
+                        Object factory = cache.get(HIERARCHY.get(index));
+                        Object previous = seen.set(index, factory);
+                        assertTrue(previous == null || previous == factory, "Factory changed between lookups");
+                    }
+                    return seen;
+                }));
+            }
+            start.countDown();
+
+            List<Object> expected = results.get(0).get(30, TimeUnit.SECONDS);
+            for (Future<List<Object>> result : results) {
+                List<Object> seen = result.get(30, TimeUnit.SECONDS);
+                for (int i = 0; i < HIERARCHY.size(); i++) {
+                    assertSame(expected.get(i), seen.get(i), "Threads got different factories for " + HIERARCHY.get(i));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(DEDICATED, builds.keySet());
+        builds.forEach((type, count) -> assertEquals(1, count.get(), "Factory for " + type + " built more than once"));
+        assertSame(cache.get(WithComponents.class), cache.get(WithoutComponents.class));
+        assertSame(cache.get(WithMoreComponents.class), cache.get(Leaf.class));
+        assertSame(cache.get(Root.class), cache.get(Sibling.class));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A hand-written equivalent of a generated container, with one eager and one lazy component.
+ */
+public final class TestComponentContainer extends AbstractComponentContainer {
+    public static final ComponentKey<TestComponent> EAGER = TestComponentKeys.create("eager", TestComponent.class, 0);
+    public static final ComponentKey<TestComponent> LAZY = TestComponentKeys.create("lazy", TestComponent.class, 1);
+    private static final ComponentKeySet KEYS = ComponentKeySet.of(List.of(EAGER, LAZY));
+
+    public final AtomicInteger lazyCreations = new AtomicInteger();
+    private final Function<Object, ? extends Component> factory;
+    private final Component eager;
+    private volatile @Nullable Component lazy;
+    private Object factoryArgument;
+
+    public TestComponentContainer(Function<Object, ? extends Component> factory, Object factoryArgument) {
+        this.factory = factory;
+        this.factoryArgument = factoryArgument;
+        this.eager = factory.apply(factoryArgument);
+    }
+
+    @Override
+    public ComponentKeySet keys() {
+        return KEYS;
+    }
+
+    @Override
+    public @Nullable Component getByIndex(int rawIndex) {
+        if (rawIndex == EAGER.getRawIndex()) return this.eager;
+        if (rawIndex != LAZY.getRawIndex()) return null;
+        Component lazy = this.lazy;
+        return lazy != null ? lazy : this.createLazy();
+    }
+
+    // same as the synchronized materializer of generated containers
+    private synchronized Component createLazy() {
+        if (this.lazy != null) return this.lazy;
+        Component created = this.factory.apply(this.factoryArgument);
+        this.lazyCreations.incrementAndGet();
+        this.loadDeferredData(created, LAZY.getStringId());
+        this.lazy = created;
+        return created;
+    }
+
+    @Override
+    public @Nullable Component getCreatedByIndex(int rawIndex) {
+        return rawIndex == LAZY.getRawIndex() ? this.lazy : this.getByIndex(rawIndex);
+    }
+
+    @Override
+    public boolean hasLazyComponents() {
+        return true;
+    }
+
+    @Override
+    public synchronized void rebindFactoryArguments(Object... args) {
+        this.factoryArgument = args[0];
+    }
+
+    @Override
+    public <T> void forEachComponent(ComponentVisitor<T> visitor, T context) {
+        visitor.visit(context, EAGER, this.eager);
+        Component lazy = this.lazy;
+        if (lazy != null) visitor.visit(context, LAZY, lazy);
+    }
+
+    @Override
+    public void tickAsyncServerComponents() {
+        // NO-OP
+    }
+
+    @Override
+    public boolean hasComponents() {
+        return true;
+    }
+
+    @Override
+    public void tickServerComponents() {
+        // NO-OP
+    }
+
+    @Override
+    public void tickClientComponents() {
+        // NO-OP
+    }
+
+    @Override
+    public boolean hasServerTickingComponents() {
+        return false;
+    }
+
+    @Override
+    public boolean hasClientTickingComponents() {
+        return false;
+    }
+}
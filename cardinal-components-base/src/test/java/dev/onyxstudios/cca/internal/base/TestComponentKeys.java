@@ -0,0 +1,67 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import net.minecraft.util.Identifier;
+import sun.reflect.ReflectionFactory;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Creates component keys without going through the static component bootstrap, which needs a running game.
+ */
+public final class TestComponentKeys {
+    public static <C extends Component> ComponentKey<C> create(String path, Class<C> componentClass, int rawIndex) {
+        try {
+            // skips ComponentKey's constructor, which only accepts generated subclasses
+            @SuppressWarnings("unchecked") ComponentKey<C> key = (ComponentKey<C>) ReflectionFactory.getReflectionFactory()
+                .newConstructorForSerialization(TestKey.class, Object.class.getDeclaredConstructor())
+                .newInstance();
+            Identifier id = new Identifier("cca-test", path);
+            String stringId = id.toString().intern();
+            set(key, "id", id);
+            set(key, "stringId", stringId);
+            set(key, "encodedId", stringId.getBytes(StandardCharsets.UTF_8));
+            set(key, "componentClass", componentClass);
+            set(key, "rawIndex", rawIndex);
+            return key;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create test component key " + path, e);
+        }
+    }
+
+    private static void set(ComponentKey<?> key, String name, Object value) throws ReflectiveOperationException {
+        Field field = ComponentKey.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(key, value);
+    }
+
+    private static final class TestKey<C extends Component> extends ComponentKey<C> {
+        private TestKey() {
+            super(null, null, 0);
+        }
+    }
+}
@@ -24,9 +24,11 @@ package dev.onyxstudios.cca.internal;
 
 import dev.onyxstudios.cca.api.v3.block.BlockEntitySyncAroundCallback;
 import dev.onyxstudios.cca.api.v3.block.BlockEntitySyncCallback;
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.ComponentsBaseNetworking;
+import dev.onyxstudios.cca.internal.base.ContainerFactoryPregeneration;
+import dev.onyxstudios.cca.internal.block.CardinalBlockInternals;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.network.PacketByteBuf;
@@ -40,7 +42,7 @@ public class CardinalComponentsBlock {
      *
      * <p> Packets emitted on this channel must begin with, in order, the {@link BlockEntity#getType() BE type} (as an identifier),
      * the {@link BlockEntity#getPos() position} (using {@link PacketByteBuf#writeBlockPos(BlockPos)}),
-     * and the {@link ComponentKey#getId() component's type} (as an Identifier).
+     * and one or more component entries (see {@link ComponentsBaseNetworking#KEY_TABLE_PACKET_ID}).
      *
      * <p> Components synchronized through this channel will have {@linkplain AutoSyncedComponent#applySyncPacket(PacketByteBuf)}
      * called on the game thread.
@@ -49,18 +51,9 @@ public class CardinalComponentsBlock {
 
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
-            BlockEntitySyncCallback.EVENT.register((player, tracked) -> {
-                ComponentProvider provider = (ComponentProvider) tracked;
-
-                for (ComponentKey<?> key : provider.getComponentContainer().keys()) {
-                    key.syncWith(player, provider);
-                }
-            });
-            BlockEntitySyncAroundCallback.EVENT.register(tracked -> {
-                for (ComponentKey<?> key : ((ComponentProvider) tracked).getComponentContainer().keys()) {
-                    key.sync(tracked);
-                }
-            });
+            BlockEntitySyncCallback.EVENT.register((player, tracked) -> ComponentsBaseNetworking.syncAll(player, (ComponentProvider) tracked));
+            BlockEntitySyncAroundCallback.EVENT.register(tracked -> ComponentsBaseNetworking.syncAll((ComponentProvider) tracked));
         }
+        ContainerFactoryPregeneration.register(CardinalBlockInternals::getPregenerationTasks);
     }
 }
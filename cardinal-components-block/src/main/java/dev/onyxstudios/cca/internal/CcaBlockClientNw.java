@@ -22,9 +22,7 @@
  */
 package dev.onyxstudios.cca.internal;
 
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
-import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.CcaBaseClientNw;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
@@ -40,25 +38,13 @@ public class CcaBlockClientNw {
                 try {
                     Identifier blockEntityTypeId = buffer.readIdentifier();
                     BlockPos position = buffer.readBlockPos();
-                    Identifier componentTypeId = buffer.readIdentifier();
                     BlockEntityType<?> blockEntityType = Registry.BLOCK_ENTITY_TYPE.get(blockEntityTypeId);
-                    ComponentKey<?> componentType = ComponentRegistry.get(componentTypeId);
 
-                    if (componentType == null || blockEntityType == null) {
+                    if (blockEntityType == null) {
                         return;
                     }
 
-                    buffer.retain();
-
-                    client.execute(() -> {
-                        try {
-                            componentType.maybeGet(blockEntityType.get(client.world, position))
-                                .filter(c -> c instanceof AutoSyncedComponent)
-                                .ifPresent(c -> ((AutoSyncedComponent) c).applySyncPacket(buffer));
-                        } finally {
-                            buffer.release();
-                        }
-                    });
+                    CcaBaseClientNw.applySyncPackets(client, buffer, () -> blockEntityType.get(client.world, position));
                 } catch (Exception e) {
                     ComponentsInternals.LOGGER.error("Error while reading block entity components from network", e);
                     throw e;
@@ -23,41 +23,32 @@
 package dev.onyxstudios.cca.internal.block;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.internal.base.HierarchicalFactoryCache;
 import net.minecraft.block.entity.BlockEntity;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.List;
 
 public final class CardinalBlockInternals {
-    private static final Map<Class<? extends BlockEntity>, ComponentContainer.Factory<BlockEntity>> entityContainerFactories = new HashMap<>();
+    private static final HierarchicalFactoryCache<BlockEntity, ComponentContainer.Factory<BlockEntity>> entityContainerFactories = new HierarchicalFactoryCache<>(
+        BlockEntity.class,
+        StaticBlockComponentPlugin.INSTANCE::requiresStaticFactory,
+        StaticBlockComponentPlugin.INSTANCE::buildDedicatedFactory
+    );
 
     public static ComponentContainer createComponents(BlockEntity blockEntity) {
-        Class<? extends BlockEntity> entityClass = blockEntity.getClass();
-        ComponentContainer.Factory<BlockEntity> existing = entityContainerFactories.get(entityClass);
-
-        return Objects.requireNonNullElseGet(
-            existing,
-            () -> getBeComponentFactory(entityClass)
-        ).createContainer(blockEntity);
+        return getBeComponentFactory(blockEntity.getClass()).createContainer(blockEntity);
     }
 
-    private static synchronized ComponentContainer.Factory<BlockEntity> getBeComponentFactory(Class<? extends BlockEntity> entityClass) {
-        // need to check again despite synchronization, because
-        // 1- recursive calls
-        // 2- the factory may have been generated while waiting from createComponents
-        ComponentContainer.Factory<BlockEntity> existing = entityContainerFactories.get(entityClass);
-        if (existing != null) return existing;
+    /**
+     * @return tasks generating the container factory of every block entity class with directly registered components
+     */
+    public static List<Runnable> getPregenerationTasks() {
+        return StaticBlockComponentPlugin.INSTANCE.getRegisteredClasses().stream()
+            .<Runnable>map(entityClass -> () -> getBeComponentFactory(entityClass))
+            .toList();
+    }
 
-        ComponentContainer.Factory<BlockEntity> factory;
-        if (StaticBlockComponentPlugin.INSTANCE.requiresStaticFactory(entityClass)) {
-            factory = StaticBlockComponentPlugin.INSTANCE.buildDedicatedFactory(entityClass);
-        } else {
-            @SuppressWarnings("unchecked") var superclass = (Class<? extends BlockEntity>) entityClass.getSuperclass();
-            assert BlockEntity.class.isAssignableFrom(superclass) : "requiresStaticFactory returned false on BlockEntity?";
-            factory = /* recursive call */ getBeComponentFactory(superclass);
-        }
-        entityContainerFactories.put(entityClass, factory);
-        return factory;
+    private static ComponentContainer.Factory<BlockEntity> getBeComponentFactory(Class<? extends BlockEntity> entityClass) {
+        return entityContainerFactories.get(entityClass);
     }
 }
@@ -28,14 +28,16 @@ import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.api.v3.component.ComponentFactory;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.tick.AsyncServerTickingComponent;
 import dev.onyxstudios.cca.api.v3.component.tick.ClientTickingComponent;
 import dev.onyxstudios.cca.api.v3.component.tick.ServerTickingComponent;
+import dev.onyxstudios.cca.internal.base.ComponentSystemBatch;
 import dev.onyxstudios.cca.internal.base.LazyDispatcher;
+import dev.onyxstudios.cca.internal.base.PrimitiveComponentFactory;
 import dev.onyxstudios.cca.internal.base.QualifiedComponentFactory;
 import dev.onyxstudios.cca.internal.base.asm.StaticComponentLoadingException;
 import dev.onyxstudios.cca.internal.base.asm.StaticComponentPluginBase;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityTicker;
 import net.minecraft.world.World;
@@ -48,6 +50,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 public final class StaticBlockComponentPlugin extends LazyDispatcher implements BlockComponentFactoryRegistry {
@@ -63,8 +66,9 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
 
     private final List<PredicatedComponentFactory<?>> dynamicFactories = new ArrayList<>();
     private final Map<Class<? extends BlockEntity>, Map<ComponentKey<?>, QualifiedComponentFactory<ComponentFactory<? extends BlockEntity, ?>>>> beComponentFactories = new Reference2ObjectOpenHashMap<>();
-    private final Set<Class<? extends BlockEntity>> clientTicking = new ReferenceOpenHashSet<>();
-    private final Set<Class<? extends BlockEntity>> serverTicking = new ReferenceOpenHashSet<>();
+    // read from any thread when block entities get loaded
+    private final Set<Class<? extends BlockEntity>> clientTicking = ConcurrentHashMap.newKeySet();
+    private final Set<Class<? extends BlockEntity>> serverTicking = ConcurrentHashMap.newKeySet();
 
     @Nullable
     public <T extends BlockEntity> BlockEntityTicker<T> getComponentTicker(World world, T be, @Nullable BlockEntityTicker<T> base) {
@@ -84,7 +88,7 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
         return base;
     }
 
-    public boolean requiresStaticFactory(Class<? extends BlockEntity> entityClass) {
+    public synchronized boolean requiresStaticFactory(Class<? extends BlockEntity> entityClass) {
         StaticBlockComponentPlugin.INSTANCE.ensureInitialized();
 
         for (PredicatedComponentFactory<?> dynamicFactory : this.dynamicFactories) {
@@ -94,18 +98,29 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
         return entityClass == BlockEntity.class || this.beComponentFactories.containsKey(entityClass);
     }
 
+    /**
+     * @return a snapshot of every block entity class for which components were registered directly
+     */
+    public synchronized Set<Class<? extends BlockEntity>> getRegisteredClasses() {
+        StaticBlockComponentPlugin.INSTANCE.ensureInitialized();
+        return Set.copyOf(this.beComponentFactories.keySet());
+    }
+
     public ComponentContainer.Factory<BlockEntity> buildDedicatedFactory(Class<? extends BlockEntity> entityClass) {
         StaticBlockComponentPlugin.INSTANCE.ensureInitialized();
 
-        var compiled = new LinkedHashMap<>(this.beComponentFactories.getOrDefault(entityClass, Collections.emptyMap()));
-        Class<? extends BlockEntity> type = entityClass;
+        LinkedHashMap<ComponentKey<?>, QualifiedComponentFactory<ComponentFactory<? extends BlockEntity, ?>>> compiled;
+
+        // only hold the lock while reading registrations, so that classes get generated concurrently
+        synchronized (this) {
+            compiled = new LinkedHashMap<>(this.beComponentFactories.getOrDefault(entityClass, Collections.emptyMap()));
+            Class<? extends BlockEntity> type = entityClass;
 
-        while (type != BlockEntity.class) {
-            type = type.getSuperclass().asSubclass(BlockEntity.class);
-            for (var e : this.beComponentFactories.getOrDefault(type, Collections.emptyMap()).entrySet()) {
-                compiled.putIfAbsent(e.getKey(), e.getValue());
-                if (ClientTickingComponent.class.isAssignableFrom(e.getValue().impl())) this.clientTicking.add(entityClass);
-                if (ServerTickingComponent.class.isAssignableFrom(e.getValue().impl())) this.serverTicking.add(entityClass);
+            while (type != BlockEntity.class) {
+                type = type.getSuperclass().asSubclass(BlockEntity.class);
+                for (var e : this.beComponentFactories.getOrDefault(type, Collections.emptyMap()).entrySet()) {
+                    compiled.putIfAbsent(e.getKey(), e.getValue());
+                }
             }
         }
 
@@ -116,7 +131,16 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
             addToBuilder(builder, entry);
         }
 
-        return builder.build();
+        // building the factory fixes which keys are ticked by a component system
+        ComponentContainer.Factory<BlockEntity> factory = builder.build();
+
+        for (var entry : compiled.entrySet()) {
+            Class<? extends Component> impl = entry.getValue().impl();
+            if (ClientTickingComponent.class.isAssignableFrom(impl)) this.clientTicking.add(entityClass);
+            if (ServerTickingComponent.class.isAssignableFrom(impl) || AsyncServerTickingComponent.class.isAssignableFrom(impl) || ComponentSystemBatch.hasSystem(entry.getKey())) this.serverTicking.add(entityClass);
+        }
+
+        return factory;
     }
 
     private <C extends Component> void addToBuilder(ComponentContainer.Factory.Builder<BlockEntity> builder, Map.Entry<ComponentKey<?>, QualifiedComponentFactory<ComponentFactory<? extends BlockEntity, ?>>> entry) {
@@ -218,11 +242,15 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
                     new QualifiedComponentFactory<>(factory, this.componentClass, this.dependencies)
                 );
             } else {
+                // primitive factories get recognized by the container generator, and ignore their argument anyway
+                ComponentFactory<BlockEntity, C> widenedFactory = factory instanceof PrimitiveComponentFactory<?, ?> primitive
+                    ? primitive.widen()
+                    : entity -> factory.createComponent(this.target.cast(entity));
                 StaticBlockComponentPlugin.this.dynamicFactories.add(new PredicatedComponentFactory<>(
                     c -> this.target.isAssignableFrom(c) && this.test.test(c.asSubclass(this.target)),
                     this.key,
                     new QualifiedComponentFactory<>(
-                        entity -> factory.createComponent(this.target.cast(entity)),
+                        widenedFactory,
                         this.componentClass,
                         this.dependencies
                     )
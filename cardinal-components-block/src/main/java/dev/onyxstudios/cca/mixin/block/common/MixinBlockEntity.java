@@ -28,6 +28,7 @@ import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
 import dev.onyxstudios.cca.internal.CardinalComponentsBlock;
+import dev.onyxstudios.cca.internal.base.ComponentsBaseNetworking;
 import dev.onyxstudios.cca.internal.block.CardinalBlockInternals;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
@@ -121,12 +122,29 @@ public abstract class MixinBlockEntity implements ComponentProvider {
     @Nullable
     @Override
     public <C extends AutoSyncedComponent> CustomPayloadS2CPacket toComponentPacket(ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
+        PacketByteBuf buf = this.cca$createSyncPacketBuf();
+        ComponentsBaseNetworking.writeComponent(buf, key, writer, recipient);
+        return new CustomPayloadS2CPacket(CardinalComponentsBlock.PACKET_ID, buf);
+    }
+
+    @Nullable
+    @Override
+    public CustomPayloadS2CPacket toComponentPacket(ServerPlayerEntity recipient) {
+        PacketByteBuf buf = this.cca$createSyncPacketBuf();
+
+        if (!ComponentsBaseNetworking.writeSyncedComponents(buf, this, recipient)) {
+            buf.release();
+            return null;
+        }
+
+        return new CustomPayloadS2CPacket(CardinalComponentsBlock.PACKET_ID, buf);
+    }
+
+    @Unique
+    private PacketByteBuf cca$createSyncPacketBuf() {
         PacketByteBuf buf = PacketByteBufs.create();
         buf.writeIdentifier(BlockEntityType.getId(this.getType()));
         buf.writeBlockPos(this.getPos());
-        buf.writeIdentifier(key.getId());
-        writer.writeSyncPacket(buf, recipient);
-        return new CustomPayloadS2CPacket(CardinalComponentsBlock.PACKET_ID, buf);
+        return buf;
     }
-
 }
@@ -26,6 +26,7 @@ import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentFactory;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import net.minecraft.world.chunk.Chunk;
+import org.jetbrains.annotations.ApiStatus;
 
 /**
  * @since 2.4.0
@@ -45,4 +46,22 @@ public interface ChunkComponentFactoryRegistry {
      * @param factory the factory to use to create components of the given type
      */
     <C extends Component> void register(ComponentKey<? super C> key, Class<C> impl, ComponentFactory<Chunk, ? extends C> factory);
+
+    /**
+     * Registers a {@link ComponentFactory} for {@link Chunk}s, which components only get created the first time
+     * they are looked up.
+     *
+     * <p>When a chunk gets loaded, the saved data of such components is kept as-is until they are created,
+     * either when first looked up or when the chunk gets synchronized with a player.
+     * If they are never created, their saved data is written back unchanged when the chunk is saved.
+     *
+     * <p>Lazy components may be looked up from any thread, like world generation workers.
+     * Each of them gets created exactly once, and other threads only see it once it has read its saved data.
+     *
+     * @param impl    the class object representing the type of component produced by the factory
+     * @param factory the factory to use to create components of the given type
+     * @since 4.3.0
+     */
+    @ApiStatus.Experimental
+    <C extends Component> void registerLazy(ComponentKey<? super C> key, Class<C> impl, ComponentFactory<Chunk, ? extends C> factory);
 }
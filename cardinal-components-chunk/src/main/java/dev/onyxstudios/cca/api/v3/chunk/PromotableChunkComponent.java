@@ -0,0 +1,52 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.chunk;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import net.minecraft.world.chunk.ProtoChunk;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A chunk component whose instance can be moved from a {@link ProtoChunk} to the {@link WorldChunk}
+ * it gets promoted to.
+ *
+ * <p>By default, when a proto chunk gets promoted, the components of the new world chunk copy
+ * the data of the proto chunk's components. If every component of the proto chunk implements this interface,
+ * the world chunk instead adopts the proto chunk's component instances as-is.
+ *
+ * @since 4.3.0
+ */
+@ApiStatus.Experimental
+public interface PromotableChunkComponent extends Component {
+    /**
+     * Called after this component has been moved to the world chunk replacing the proto chunk it was created for.
+     *
+     * <p>Components that keep a reference to their chunk should update it here.
+     *
+     * @param chunk the chunk that now holds this component
+     */
+    default void onPromoted(WorldChunk chunk) {
+        // NO-OP
+    }
+}
@@ -22,13 +22,10 @@
  */
 package dev.onyxstudios.cca.internal.chunk;
 
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
-import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.CcaBaseClientNw;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
-import net.minecraft.util.Identifier;
 
 import java.util.Objects;
 
@@ -39,22 +36,8 @@ public class CcaChunkClientNw {
                 try {
                     int chunkX = buffer.readInt();
                     int chunkZ = buffer.readInt();
-                    Identifier componentTypeId = buffer.readIdentifier();
-                    ComponentKey<?> componentType = ComponentRegistry.get(componentTypeId);
-                    if (componentType == null) {
-                        return;
-                    }
-                    buffer.retain();
-                    client.execute(() -> {
-                        try {
-                            // Note: on the client, unloaded chunks return EmptyChunk
-                            componentType.maybeGet(Objects.requireNonNull(client.world).getChunk(chunkX, chunkZ))
-                                .filter(c -> c instanceof AutoSyncedComponent)
-                                .ifPresent(c -> ((AutoSyncedComponent) c).applySyncPacket(buffer));
-                        } finally {
-                            buffer.release();
-                        }
-                    });
+                    // Note: on the client, unloaded chunks return EmptyChunk
+                    CcaBaseClientNw.applySyncPackets(client, buffer, () -> Objects.requireNonNull(client.world).getChunk(chunkX, chunkZ));
                 } catch (Exception e) {
                     ComponentsInternals.LOGGER.error("Error while reading chunk components from network", e);
                     throw e;
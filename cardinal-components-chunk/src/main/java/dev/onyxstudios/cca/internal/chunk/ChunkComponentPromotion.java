@@ -0,0 +1,95 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.chunk;
+
+import com.google.common.annotations.VisibleForTesting;
+import dev.onyxstudios.cca.api.v3.chunk.PromotableChunkComponent;
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.internal.base.AbstractComponentContainer;
+import dev.onyxstudios.cca.internal.base.ComponentVisitor;
+import dev.onyxstudios.cca.internal.base.PrimitiveComponentView;
+import net.minecraft.world.chunk.ProtoChunk;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.function.Consumer;
+
+/**
+ * Hands the components of a {@link ProtoChunk} over to the {@link WorldChunk} replacing it.
+ *
+ * <p>Proto and world chunks share the same container factory, so when every component of the proto chunk is
+ * {@linkplain PromotableChunkComponent promotable}, the world chunk can take the whole container over.
+ * Primitive components live in the container itself, and move along with it. Lazy components that were
+ * never created get created for the world chunk, along with their saved data if any.
+ */
+public final class ChunkComponentPromotion {
+    private static final ComponentVisitor<boolean[]> PROMOTABLE_VISITOR = (promotable, key, component) -> {
+        if (!(component instanceof PromotableChunkComponent) && !(component instanceof PrimitiveComponentView)) {
+            promotable[0] = false;
+        }
+    };
+    private static final ComponentVisitor<WorldChunk> PROMOTED_VISITOR = ChunkComponentPromotion::onPromoted;
+
+    /**
+     * Called on the server thread, while the world chunk replacing {@code proto} gets created.
+     */
+    public static void promote(ProtoChunk proto, WorldChunk chunk) {
+        AbstractComponentContainer protoComponents = (AbstractComponentContainer) proto.getComponentContainer();
+        // the chunk is about to become visible to server thread code, which must not see components with default state
+        protoComponents.applyDeferredData();
+
+        if (!adopt(protoComponents, chunk, components -> ((ComponentChunk) chunk).cca$setComponentContainer(components))) {
+            chunk.getComponentContainer().copyFrom(protoComponents);
+        }
+    }
+
+    /**
+     * Moves a proto chunk's container to the world chunk replacing it, if every component can be moved.
+     *
+     * @param attach sets the container of {@code chunk}
+     * @return {@code true} if the container was moved, {@code false} if its components must be copied instead
+     */
+    @VisibleForTesting
+    static boolean adopt(AbstractComponentContainer protoComponents, WorldChunk chunk, Consumer<? super ComponentContainer> attach) {
+        if (!isPromotable(protoComponents)) return false;
+
+        // lazy components that were never created must be created for the world chunk
+        protoComponents.rebindFactoryArguments(chunk);
+        attach.accept(protoComponents);
+        protoComponents.forEachComponent(PROMOTED_VISITOR, chunk);
+        return true;
+    }
+
+    private static boolean isPromotable(ComponentContainer components) {
+        boolean[] promotable = {true};
+        ((AbstractComponentContainer) components).forEachComponent(PROMOTABLE_VISITOR, promotable);
+        return promotable[0];
+    }
+
+    private static void onPromoted(WorldChunk chunk, ComponentKey<?> key, Component component) {
+        if (component instanceof PromotableChunkComponent promotable) {
+            promotable.onPromoted(chunk);
+        }
+    }
+}
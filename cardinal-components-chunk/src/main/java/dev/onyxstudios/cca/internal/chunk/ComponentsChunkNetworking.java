@@ -23,8 +23,8 @@
 package dev.onyxstudios.cca.internal.chunk;
 
 import dev.onyxstudios.cca.api.v3.chunk.ChunkSyncCallback;
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.internal.base.ComponentsBaseNetworking;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.util.Identifier;
 
@@ -33,11 +33,7 @@ public final class ComponentsChunkNetworking {
 
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
-            ChunkSyncCallback.EVENT.register((player, tracked) -> {
-                for (ComponentKey<?> key : tracked.getComponentContainer().keys()) {
-                    key.syncWith(player, (ComponentProvider) tracked);
-                }
-            });
+            ChunkSyncCallback.EVENT.register((player, tracked) -> ComponentsBaseNetworking.syncAll(player, (ComponentProvider) tracked));
         }
     }
 
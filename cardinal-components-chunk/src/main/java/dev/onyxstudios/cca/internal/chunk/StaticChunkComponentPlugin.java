@@ -70,4 +70,10 @@ public final class StaticChunkComponentPlugin extends StaticComponentPluginBase<
         this.checkLoading(ChunkComponentFactoryRegistry.class, "register");
         super.register(type, factory);
     }
+
+    @Override
+    public <C extends Component> void registerLazy(ComponentKey<? super C> type, Class<C> impl, ComponentFactory<Chunk, ? extends C> factory) {
+        this.checkLoading(ChunkComponentFactoryRegistry.class, "registerLazy");
+        super.registerLazy(type, impl, factory);
+    }
 }
@@ -24,7 +24,9 @@ package dev.onyxstudios.cca.mixin.chunk.common;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.internal.chunk.ComponentChunk;
 import dev.onyxstudios.cca.internal.chunk.StaticChunkComponentPlugin;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.registry.Registry;
 import net.minecraft.world.HeightLimitView;
@@ -33,6 +35,7 @@ import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkSection;
 import net.minecraft.world.chunk.UpgradeData;
 import net.minecraft.world.gen.chunk.BlendingData;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
@@ -40,9 +43,11 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @Mixin(Chunk.class)
-public class MixinChunk implements ComponentProvider {
+public class MixinChunk implements ComponentProvider, ComponentChunk {
     @Unique
     private ComponentContainer components;
+    @Unique
+    private volatile @Nullable NbtCompound componentSnapshot;
 
     @Inject(method = "<init>", at = @At("RETURN"))
     private void initComponents(ChunkPos pos, UpgradeData upgradeData, HeightLimitView heightLimitView, Registry<Biome> biome, long inhabitedTime, ChunkSection[] sectionArrayInitializer, BlendingData blendingData, CallbackInfo ci) {
@@ -53,4 +58,19 @@ public class MixinChunk implements ComponentProvider {
     public ComponentContainer getComponentContainer() {
         return this.components;
     }
+
+    @Override
+    public void cca$setComponentContainer(ComponentContainer components) {
+        this.components = components;
+    }
+
+    @Override
+    public @Nullable NbtCompound cca$getComponentSnapshot() {
+        return this.componentSnapshot;
+    }
+
+    @Override
+    public void cca$setComponentSnapshot(@Nullable NbtCompound snapshot) {
+        this.componentSnapshot = snapshot;
+    }
 }
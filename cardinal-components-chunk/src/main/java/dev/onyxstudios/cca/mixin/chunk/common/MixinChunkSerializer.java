@@ -22,6 +22,9 @@
  */
 package dev.onyxstudios.cca.mixin.chunk.common;
 
+import dev.onyxstudios.cca.internal.base.AbstractComponentContainer;
+import dev.onyxstudios.cca.internal.base.ThreadSafeComponents;
+import dev.onyxstudios.cca.internal.chunk.ComponentChunk;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.ChunkPos;
@@ -41,12 +44,32 @@ public abstract class MixinChunkSerializer {
     private static void deserialize(ServerWorld world, PointOfInterestStorage pointOfInterestStorage, ChunkPos chunkPos, NbtCompound tag, CallbackInfoReturnable<ProtoChunk> cir) {
         ProtoChunk ret = cir.getReturnValue();
         Chunk chunk = ret instanceof ReadOnlyChunk ? ((ReadOnlyChunk) ret).getWrappedChunk() : ret;
-        chunk.getComponentContainer().fromTag(tag);
+        AbstractComponentContainer components = (AbstractComponentContainer) chunk.getComponentContainer();
+        // chunks may be loaded by worker threads, components that are not thread-safe must read their data on the server thread
+        boolean offThread = !world.getServer().isOnThread();
+        // lazy components only read their data when they are first needed
+        components.fromTagDeferred(tag, offThread);
+
+        if (offThread && components.hasDeferredData()) {
+            // chunks apply their deferred data before being handed to the server thread, see MixinWorldChunk,
+            // this also covers chunks that stay in a generation stage for a while
+            world.getServer().execute(components::applyDeferredData);
+        }
     }
 
     @Inject(method = "serialize", at = @At("RETURN"))
     private static void serialize(ServerWorld world, Chunk chunk, CallbackInfoReturnable<NbtCompound> cir) {
         NbtCompound ret = cir.getReturnValue();
-        chunk.getComponentContainer().toTag(ret);
+        AbstractComponentContainer components = (AbstractComponentContainer) chunk.getComponentContainer();
+        NbtCompound snapshot = ((ComponentChunk) chunk).cca$getComponentSnapshot();
+        ((ComponentChunk) chunk).cca$setComponentSnapshot(null);
+
+        if (world.getServer().isOnThread()) {
+            components.toTag(ret);
+        } else {
+            // components that are not thread-safe get written as they were when the server thread requested the save
+            ThreadSafeComponents.markOffThreadSave();
+            components.toTagOffThread(ret, snapshot);
+        }
     }
 }
@@ -22,6 +22,7 @@
  */
 package dev.onyxstudios.cca.mixin.chunk.common;
 
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.chunk.WorldChunk;
 import org.spongepowered.asm.mixin.Mixin;
@@ -33,6 +34,10 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 public abstract class MixinServerWorld {
     @Inject(method = "tickChunk", at = @At("RETURN"))
     private void tick(WorldChunk chunk, int randomTickSpeed, CallbackInfo ci) {
-        chunk.getComponentContainer().tickServerComponents();
+        ComponentContainer components = chunk.getComponentContainer();
+
+        if (components.hasServerTickingComponents()) {
+            components.tickServerComponents();
+        }
     }
 }
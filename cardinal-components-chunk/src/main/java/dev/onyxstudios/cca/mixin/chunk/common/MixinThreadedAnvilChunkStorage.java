@@ -24,9 +24,14 @@ package dev.onyxstudios.cca.mixin.chunk.common;
 
 import com.mojang.datafixers.DataFixer;
 import dev.onyxstudios.cca.api.v3.chunk.ChunkSyncCallback;
+import dev.onyxstudios.cca.internal.base.AbstractComponentContainer;
+import dev.onyxstudios.cca.internal.base.ThreadSafeComponents;
+import dev.onyxstudios.cca.internal.chunk.ComponentChunk;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ThreadedAnvilChunkStorage;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.WorldChunk;
 import net.minecraft.world.storage.VersionedChunkStorage;
 import org.apache.commons.lang3.mutable.MutableObject;
@@ -34,6 +39,7 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import java.nio.file.Path;
 
@@ -43,6 +49,15 @@ public abstract class MixinThreadedAnvilChunkStorage extends VersionedChunkStora
         super(file, dataFixer, bl);
     }
 
+    @Inject(method = "save(Lnet/minecraft/world/chunk/Chunk;)Z", at = @At("HEAD"))
+    private void snapshotUnsafeComponents(Chunk chunk, CallbackInfoReturnable<Boolean> cir) {
+        // chunk saving mods may serialize the chunk on another thread, where unsafe components must not be accessed
+        if (ThreadSafeComponents.hasOffThreadSaves() && chunk.needsSaving()) {
+            NbtCompound snapshot = ((AbstractComponentContainer) chunk.getComponentContainer()).snapshotUnsafeComponents();
+            ((ComponentChunk) chunk).cca$setComponentSnapshot(snapshot);
+        }
+    }
+
     @Inject(method = "sendChunkDataPackets", at = @At("RETURN"))
     private void sendChunkComponentsPackets(ServerPlayerEntity player, MutableObject<ChunkDataS2CPacket> mutableObject, WorldChunk chunk, CallbackInfo ci) {
         ChunkSyncCallback.EVENT.invoker().onChunkSync(player, chunk);
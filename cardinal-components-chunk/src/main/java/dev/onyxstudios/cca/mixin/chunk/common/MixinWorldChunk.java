@@ -26,6 +26,9 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.internal.base.AbstractComponentContainer;
+import dev.onyxstudios.cca.internal.base.ComponentsBaseNetworking;
+import dev.onyxstudios.cca.internal.chunk.ChunkComponentPromotion;
 import dev.onyxstudios.cca.internal.chunk.ComponentsChunkNetworking;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
@@ -47,6 +50,7 @@ import net.minecraft.world.gen.chunk.BlendingData;
 import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
@@ -73,17 +77,43 @@ public abstract class MixinWorldChunk extends Chunk implements ComponentProvider
 
     @Override
     public <C extends AutoSyncedComponent> CustomPayloadS2CPacket toComponentPacket(ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
+        PacketByteBuf buf = this.cca$createSyncPacketBuf();
+        ComponentsBaseNetworking.writeComponent(buf, key, writer, recipient);
+        return new CustomPayloadS2CPacket(ComponentsChunkNetworking.PACKET_ID, buf);
+    }
+
+    @Nullable
+    @Override
+    public CustomPayloadS2CPacket toComponentPacket(ServerPlayerEntity recipient) {
+        PacketByteBuf buf = this.cca$createSyncPacketBuf();
+
+        if (!ComponentsBaseNetworking.writeSyncedComponents(buf, this, recipient)) {
+            buf.release();
+            return null;
+        }
+
+        return new CustomPayloadS2CPacket(ComponentsChunkNetworking.PACKET_ID, buf);
+    }
+
+    @Unique
+    private PacketByteBuf cca$createSyncPacketBuf() {
         PacketByteBuf buf = PacketByteBufs.create();
         ChunkPos pos = this.getPos();
         buf.writeInt(pos.x);
         buf.writeInt(pos.z);
-        buf.writeIdentifier(key.getId());
-        writer.writeSyncPacket(buf, recipient);
-        return new CustomPayloadS2CPacket(ComponentsChunkNetworking.PACKET_ID, buf);
+        return buf;
     }
 
     @Inject(method = "<init>(Lnet/minecraft/server/world/ServerWorld;Lnet/minecraft/world/chunk/ProtoChunk;Lnet/minecraft/world/chunk/WorldChunk$EntityLoader;)V", at = @At("RETURN"))
     private void copyFromProto(ServerWorld world, ProtoChunk proto, WorldChunk.EntityLoader entityLoader, CallbackInfo ci) {
-        this.getComponentContainer().copyFrom(proto.getComponentContainer());
+        ChunkComponentPromotion.promote(proto, (WorldChunk) (Object) this);
+    }
+
+    /**
+     * Full chunks loaded from disk are never promoted, and get handed to the server thread here instead.
+     */
+    @Inject(method = "loadEntities", at = @At("HEAD"))
+    private void applyDeferredComponentData(CallbackInfo ci) {
+        ((AbstractComponentContainer) this.getComponentContainer()).applyDeferredData();
     }
 }
@@ -0,0 +1,115 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2022 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.chunk;
+
+import dev.onyxstudios.cca.api.v3.chunk.PromotableChunkComponent;
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.internal.base.TestComponent;
+import dev.onyxstudios.cca.internal.base.TestComponentContainer;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.world.chunk.WorldChunk;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.onyxstudios.cca.internal.base.TestComponentContainer.EAGER;
+import static dev.onyxstudios.cca.internal.base.TestComponentContainer.LAZY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkComponentPromotionTest {
+    // world chunks cannot be created outside of a game, the components only check which argument they get
+    private static final WorldChunk WORLD_CHUNK = null;
+    private static final String PROTO_CHUNK = "proto";
+
+    static class PromotableComponent extends TestComponent implements PromotableChunkComponent {
+        int promotions;
+
+        PromotableComponent(Object owner) {
+            super(owner);
+        }
+
+        @Override
+        public void onPromoted(WorldChunk chunk) {
+            this.promotions++;
+        }
+    }
+
+    private static NbtCompound savedLazyData(int value) {
+        NbtCompound data = new NbtCompound();
+        data.putInt("value", value);
+        NbtCompound componentMap = new NbtCompound();
+        componentMap.put(LAZY.getStringId(), data);
+        NbtCompound tag = new NbtCompound();
+        tag.put(TestComponentContainer.NBT_KEY, componentMap);
+        return tag;
+    }
+
+    @Test
+    public void worldChunksAdoptPromotableComponents() {
+        TestComponentContainer proto = new TestComponentContainer(PromotableComponent::new, PROTO_CHUNK);
+        proto.fromTagDeferred(savedLazyData(2), false);
+        PromotableComponent eager = (PromotableComponent) proto.getByIndex(EAGER.getRawIndex());
+        List<ComponentContainer> attached = new ArrayList<>();
+
+        assertTrue(ChunkComponentPromotion.adopt(proto, WORLD_CHUNK, attached::add));
+
+        assertEquals(List.of(proto), attached);
+        assertSame(eager, proto.getByIndex(EAGER.getRawIndex()));
+        assertEquals(1, eager.promotions);
+        // the lazy component was never created for the proto chunk, so it gets created for the world chunk with its saved data
+        assertNull(proto.getCreatedByIndex(LAZY.getRawIndex()));
+        PromotableComponent lazy = (PromotableComponent) proto.getByIndex(LAZY.getRawIndex());
+        assertSame(WORLD_CHUNK, lazy.owner);
+        assertEquals(2, lazy.value);
+        assertEquals(0, lazy.promotions);
+    }
+
+    @Test
+    public void createdLazyComponentsArePromotedToo() {
+        TestComponentContainer proto = new TestComponentContainer(PromotableComponent::new, PROTO_CHUNK);
+        PromotableComponent lazy = (PromotableComponent) proto.getByIndex(LAZY.getRawIndex());
+
+        assertTrue(ChunkComponentPromotion.adopt(proto, WORLD_CHUNK, container -> { }));
+
+        assertSame(lazy, proto.getByIndex(LAZY.getRawIndex()));
+        assertEquals(PROTO_CHUNK, lazy.owner);
+        assertEquals(1, lazy.promotions);
+    }
+
+    @Test
+    public void otherComponentsGetCopied() {
+        TestComponentContainer proto = new TestComponentContainer(TestComponent::new, PROTO_CHUNK);
+        List<ComponentContainer> attached = new ArrayList<>();
+
+        assertFalse(ChunkComponentPromotion.adopt(proto, WORLD_CHUNK, attached::add));
+
+        assertTrue(attached.isEmpty());
+        // factory arguments are left alone
+        assertEquals(PROTO_CHUNK, ((TestComponent) proto.getByIndex(LAZY.getRawIndex())).owner);
+    }
+}
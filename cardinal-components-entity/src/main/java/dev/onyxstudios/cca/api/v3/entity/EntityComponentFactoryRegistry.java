@@ -119,6 +119,22 @@ public interface EntityComponentFactoryRegistry {
         @ApiStatus.Experimental
         Registration<C, E> after(ComponentKey<?> dependency);
 
+        /**
+         * Defers the creation of components until they are first looked up.
+         *
+         * <p>By default, every component is created along with its entity. Lazy components are instead created
+         * the first time they are retrieved, for example through {@link ComponentKey#get(Object)},
+         * or when saved data is loaded for them. This saves memory for components that most entities never use.
+         *
+         * <p>Until they get created, lazy components are neither saved, synchronized, copied, nor ticked.
+         * The factory may get called after the entity's constructor has returned, and components must not
+         * be looked up concurrently from several threads before they are created.
+         *
+         * @since 4.3.0
+         */
+        @ApiStatus.Experimental
+        Registration<C, E> lazy();
+
         /**
          * Specify the implementation class that will be produced by the factory.
          *
@@ -30,6 +30,8 @@ import dev.onyxstudios.cca.api.v3.entity.PlayerCopyCallback;
 import dev.onyxstudios.cca.api.v3.entity.PlayerSyncCallback;
 import dev.onyxstudios.cca.api.v3.entity.RespawnCopyStrategy;
 import dev.onyxstudios.cca.api.v3.entity.TrackingStartCallback;
+import dev.onyxstudios.cca.internal.base.ComponentsBaseNetworking;
+import dev.onyxstudios.cca.internal.base.ContainerFactoryPregeneration;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.entity.Entity;
 import net.minecraft.network.PacketByteBuf;
@@ -45,7 +47,7 @@ public final class CardinalComponentsEntity {
      * {@link CustomPayloadS2CPacket} channel for default entity component synchronization.
      *
      * <p> Packets emitted on this channel must begin with, in order, the {@link Entity#getId() entity id} (as an int),
-     * and the {@link ComponentKey#getId() component's type} (as an Identifier).
+     * and one or more component entries (see {@link ComponentsBaseNetworking#KEY_TABLE_PACKET_ID}).
      *
      * <p> Components synchronized through this channel will have {@linkplain AutoSyncedComponent#applySyncPacket(PacketByteBuf)}
      * called on the game thread.
@@ -58,6 +60,7 @@ public final class CardinalComponentsEntity {
             TrackingStartCallback.EVENT.register(CardinalComponentsEntity::syncEntityComponents);
         }
         PlayerCopyCallback.EVENT.register(CardinalComponentsEntity::copyData);
+        ContainerFactoryPregeneration.register(CardinalEntityInternals::getPregenerationTasks);
     }
 
     private static void copyData(ServerPlayerEntity original, ServerPlayerEntity clone, boolean lossless) {
@@ -76,10 +79,6 @@ public final class CardinalComponentsEntity {
     }
 
     private static void syncEntityComponents(ServerPlayerEntity player, Entity tracked) {
-        ComponentProvider provider = (ComponentProvider) tracked;
-
-        for (ComponentKey<?> key : provider.getComponentContainer().keys()) {
-            key.syncWith(player, provider);
-        }
+        ComponentsBaseNetworking.syncAll(player, (ComponentProvider) tracked);
     }
 }
@@ -28,11 +28,12 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.CopyableComponent;
 import dev.onyxstudios.cca.api.v3.entity.PlayerComponent;
 import dev.onyxstudios.cca.api.v3.entity.RespawnCopyStrategy;
+import dev.onyxstudios.cca.internal.base.HierarchicalFactoryCache;
 import net.minecraft.entity.Entity;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 public final class CardinalEntityInternals {
 
@@ -40,9 +41,12 @@ public final class CardinalEntityInternals {
 
     private CardinalEntityInternals() { throw new AssertionError(); }
 
-    private static final Map<Class<? extends Entity>, ComponentContainer.Factory<Entity>> entityContainerFactories = new HashMap<>();
+    private static final HierarchicalFactoryCache<Entity, ComponentContainer.Factory<Entity>> entityContainerFactories = new HierarchicalFactoryCache<>(
+        Entity.class,
+        StaticEntityComponentPlugin.INSTANCE::requiresStaticFactory,
+        StaticEntityComponentPlugin.INSTANCE::buildDedicatedFactory
+    );
     private static final Map<ComponentKey<?>, RespawnCopyStrategy<?>> respawnCopyStrategies = new HashMap<>();
-    private static final Object factoryMutex = new Object();
 
     /**
      * Gets a container factory for an entity class, or creates one if none exists.
@@ -50,32 +54,21 @@ public final class CardinalEntityInternals {
      * and every superclass, in order from least specific (Entity) to most specific ({@code clazz}).
      */
     public static ComponentContainer createEntityComponentContainer(Entity entity) {
-        Class<? extends Entity> entityClass = entity.getClass();
-
-        return Objects.requireNonNullElseGet(
-            entityContainerFactories.get(entityClass),  // Non-synchronized fast path
-            () -> getEntityFactory(entityClass)
-        ).createContainer(entity);
+        return getEntityFactory(entity.getClass()).createContainer(entity);
     }
 
     // can be called from both client and server thread, see issue #26
-    private static synchronized ComponentContainer.Factory<Entity> getEntityFactory(Class<? extends Entity> entityClass) {
-        // need to check again despite synchronization, because
-        // 1- recursive calls
-        // 2- the factory may have been generated while waiting from createComponents
-        ComponentContainer.Factory<Entity> existing = entityContainerFactories.get(entityClass);
-        if (existing != null) return existing;
+    private static ComponentContainer.Factory<Entity> getEntityFactory(Class<? extends Entity> entityClass) {
+        return entityContainerFactories.get(entityClass);
+    }
 
-        ComponentContainer.Factory<Entity> factory;
-        if (StaticEntityComponentPlugin.INSTANCE.requiresStaticFactory(entityClass)) {
-            factory = StaticEntityComponentPlugin.INSTANCE.buildDedicatedFactory(entityClass);
-        } else {
-            @SuppressWarnings("unchecked") var superclass = (Class<? extends Entity>) entityClass.getSuperclass();
-            assert Entity.class.isAssignableFrom(superclass) : "requiresStaticFactory returned false on Entity?";
-            factory = /* recursive call */ getEntityFactory(superclass);
-        }
-        entityContainerFactories.put(entityClass, factory);
-        return factory;
+    /**
+     * @return tasks generating the container factory of every entity class with directly registered components
+     */
+    static List<Runnable> getPregenerationTasks() {
+        return StaticEntityComponentPlugin.INSTANCE.getRegisteredClasses().stream()
+            .<Runnable>map(entityClass -> () -> getEntityFactory(entityClass))
+            .toList();
     }
 
     public static <C extends Component> void registerRespawnCopyStrat(ComponentKey<? super C> type, RespawnCopyStrategy<? super C> strategy) {
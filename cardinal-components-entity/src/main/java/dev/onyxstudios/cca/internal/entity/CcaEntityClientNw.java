@@ -22,14 +22,10 @@
  */
 package dev.onyxstudios.cca.internal.entity;
 
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
-import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.CcaBaseClientNw;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
-import net.minecraft.network.PacketByteBuf;
-import net.minecraft.util.Identifier;
 
 import java.util.Objects;
 
@@ -39,21 +35,7 @@ public final class CcaEntityClientNw {
             ClientPlayNetworking.registerGlobalReceiver(CardinalComponentsEntity.PACKET_ID, (client, handler, buffer, res) -> {
                 try {
                     int entityId = buffer.readInt();
-                    Identifier componentTypeId = buffer.readIdentifier();
-                    ComponentKey<?> componentType = ComponentRegistry.get(componentTypeId);
-                    if (componentType == null) {
-                        return;
-                    }
-                    PacketByteBuf copy = new PacketByteBuf(buffer.copy());
-                    client.execute(() -> {
-                        try {
-                            componentType.maybeGet(Objects.requireNonNull(client.world).getEntityById(entityId))
-                                .filter(c -> c instanceof AutoSyncedComponent)
-                                .ifPresent(c -> ((AutoSyncedComponent) c).applySyncPacket(copy));
-                        } finally {
-                            copy.release();
-                        }
-                    });
+                    CcaBaseClientNw.applySyncPackets(client, buffer, () -> Objects.requireNonNull(client.world).getEntityById(entityId));
                 } catch (Exception e) {
                     ComponentsInternals.LOGGER.error("Error while reading entity components from network", e);
                     throw e;
@@ -31,6 +31,7 @@ import dev.onyxstudios.cca.api.v3.entity.EntityComponentInitializer;
 import dev.onyxstudios.cca.api.v3.entity.PlayerComponent;
 import dev.onyxstudios.cca.api.v3.entity.RespawnCopyStrategy;
 import dev.onyxstudios.cca.internal.base.LazyDispatcher;
+import dev.onyxstudios.cca.internal.base.PrimitiveComponentFactory;
 import dev.onyxstudios.cca.internal.base.QualifiedComponentFactory;
 import dev.onyxstudios.cca.internal.base.asm.StaticComponentLoadingException;
 import dev.onyxstudios.cca.internal.base.asm.StaticComponentPluginBase;
@@ -62,7 +63,7 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
     private final List<PredicatedComponentFactory<?>> dynamicFactories = new ArrayList<>();
     private final Map<Class<? extends Entity>, Map<ComponentKey<?>, QualifiedComponentFactory<ComponentFactory<? extends Entity, ?>>>> componentFactories = new HashMap<>();
 
-    public boolean requiresStaticFactory(Class<? extends Entity> entityClass) {
+    public synchronized boolean requiresStaticFactory(Class<? extends Entity> entityClass) {
         this.ensureInitialized();
 
         for (PredicatedComponentFactory<?> dynamicFactory : this.dynamicFactories) {
@@ -72,15 +73,28 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
         return entityClass == Entity.class || this.componentFactories.containsKey(entityClass);
     }
 
+    /**
+     * @return a snapshot of every entity class for which components were registered directly
+     */
+    public synchronized Set<Class<? extends Entity>> getRegisteredClasses() {
+        this.ensureInitialized();
+        return Set.copyOf(this.componentFactories.keySet());
+    }
+
     public ComponentContainer.Factory<Entity> buildDedicatedFactory(Class<? extends Entity> entityClass) {
         this.ensureInitialized();
 
-        var compiled = new LinkedHashMap<>(this.componentFactories.getOrDefault(entityClass, Collections.emptyMap()));
-        Class<?> type = entityClass;
+        LinkedHashMap<ComponentKey<?>, QualifiedComponentFactory<ComponentFactory<? extends Entity, ?>>> compiled;
 
-        while (type != Entity.class) {
-            type = type.getSuperclass();
-            this.componentFactories.getOrDefault(type, Collections.emptyMap()).forEach(compiled::putIfAbsent);
+        // only hold the lock while reading registrations, so that classes get generated concurrently
+        synchronized (this) {
+            compiled = new LinkedHashMap<>(this.componentFactories.getOrDefault(entityClass, Collections.emptyMap()));
+            Class<?> type = entityClass;
+
+            while (type != Entity.class) {
+                type = type.getSuperclass();
+                this.componentFactories.getOrDefault(type, Collections.emptyMap()).forEach(compiled::putIfAbsent);
+            }
         }
 
         ComponentContainer.Factory.Builder<Entity> builder = ComponentContainer.Factory.builder(Entity.class)
@@ -97,7 +111,7 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
         @SuppressWarnings("unchecked") var key = (ComponentKey<C>) entry.getKey();
         @SuppressWarnings("unchecked") var factory = (ComponentFactory<Entity, C>) entry.getValue().factory();
         @SuppressWarnings("unchecked") var impl = (Class<C>) entry.getValue().impl();
-        builder.component(key, impl, factory, entry.getValue().dependencies());
+        builder.component(key, impl, factory, entry.getValue().dependencies(), entry.getValue().lazy());
     }
 
     @Override
@@ -172,6 +186,7 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
         private final Set<ComponentKey<?>> dependencies;
         private Class<C> componentClass;
         private Predicate<Class<? extends E>> test;
+        private boolean lazy;
 
         RegistrationImpl(Class<E> target, ComponentKey<C> key) {
             this.target = target;
@@ -193,6 +208,12 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
             return this;
         }
 
+        @Override
+        public Registration<C, E> lazy() {
+            this.lazy = true;
+            return this;
+        }
+
         @Override
         public <I extends C> Registration<I, E> impl(Class<I> impl) {
             @SuppressWarnings("unchecked") RegistrationImpl<I, E> ret = (RegistrationImpl<I, E>) this;
@@ -213,16 +234,21 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
                 StaticEntityComponentPlugin.this.register0(
                     this.target,
                     this.key,
-                    new QualifiedComponentFactory<>(factory, this.componentClass, this.dependencies)
+                    new QualifiedComponentFactory<>(factory, this.componentClass, this.dependencies, this.lazy)
                 );
             } else {
+                // primitive factories get recognized by the container generator, and ignore their argument anyway
+                ComponentFactory<Entity, C> widenedFactory = factory instanceof PrimitiveComponentFactory<?, ?> primitive
+                    ? primitive.widen()
+                    : entity -> factory.createComponent(this.target.cast(entity));
                 StaticEntityComponentPlugin.this.dynamicFactories.add(new PredicatedComponentFactory<>(
                     c -> this.target.isAssignableFrom(c) && this.test.test(c.asSubclass(this.target)),
                     this.key,
                     new QualifiedComponentFactory<>(
-                        entity -> factory.createComponent(this.target.cast(entity)),
+                        widenedFactory,
                         this.componentClass,
-                        this.dependencies
+                        this.dependencies,
+                        this.lazy
                     )
                 ));
             }
@@ -28,8 +28,10 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.internal.base.ComponentsBaseNetworking;
 import dev.onyxstudios.cca.internal.entity.CardinalComponentsEntity;
 import dev.onyxstudios.cca.internal.entity.CardinalEntityInternals;
+import dev.onyxstudios.cca.internal.entity.TickingComponentEntity;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.minecraft.entity.Entity;
@@ -53,9 +55,11 @@ import java.util.Collections;
 import java.util.Iterator;
 
 @Mixin(Entity.class)
-public abstract class MixinEntity implements ComponentProvider {
+public abstract class MixinEntity implements ComponentProvider, TickingComponentEntity {
     @Unique
     private ComponentContainer components;
+    @Unique
+    private boolean serverTickingComponents;
 
     @Shadow
     public abstract EntityType<?> getType();
@@ -68,6 +72,13 @@ public abstract class MixinEntity implements ComponentProvider {
     @Inject(method = "<init>*", at = @At("RETURN"))
     private void initDataTracker(CallbackInfo ci) {
         this.components = CardinalEntityInternals.createEntityComponentContainer((Entity) (Object) this);
+        // cached on the entity, so that the world can skip entities without ticking components cheaply
+        this.serverTickingComponents = this.components.hasServerTickingComponents();
+    }
+
+    @Override
+    public boolean cca$hasServerTickingComponents() {
+        return this.serverTickingComponents;
     }
 
     @Inject(method = "writeNbt", at = @At("RETURN"))
@@ -102,11 +113,28 @@ public abstract class MixinEntity implements ComponentProvider {
     @Nullable
     @Override
     public <C extends AutoSyncedComponent> CustomPayloadS2CPacket toComponentPacket(ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
-        PacketByteBuf buf = PacketByteBufs.create();
-        buf.writeInt(this.getId());
-        buf.writeIdentifier(key.getId());
-        writer.writeSyncPacket(buf, recipient);
+        PacketByteBuf buf = this.cca$createSyncPacketBuf();
+        ComponentsBaseNetworking.writeComponent(buf, key, writer, recipient);
+        return new CustomPayloadS2CPacket(CardinalComponentsEntity.PACKET_ID, buf);
+    }
+
+    @Nullable
+    @Override
+    public CustomPayloadS2CPacket toComponentPacket(ServerPlayerEntity recipient) {
+        PacketByteBuf buf = this.cca$createSyncPacketBuf();
+
+        if (!ComponentsBaseNetworking.writeSyncedComponents(buf, this, recipient)) {
+            buf.release();
+            return null;
+        }
+
         return new CustomPayloadS2CPacket(CardinalComponentsEntity.PACKET_ID, buf);
     }
 
+    @Unique
+    private PacketByteBuf cca$createSyncPacketBuf() {
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeInt(this.getId());
+        return buf;
+    }
 }
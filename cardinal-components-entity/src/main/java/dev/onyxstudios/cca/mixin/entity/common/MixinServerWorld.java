@@ -23,6 +23,7 @@
 package dev.onyxstudios.cca.mixin.entity.common;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.internal.entity.TickingComponentEntity;
 import net.minecraft.entity.Entity;
 import net.minecraft.server.world.ServerWorld;
 import org.spongepowered.asm.mixin.Mixin;
@@ -35,11 +36,15 @@ public abstract class MixinServerWorld {
 
     @Inject(method = "tickEntity", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;tick()V", shift = At.Shift.AFTER))
     private void tick(Entity entity, CallbackInfo ci) {
-        ((ComponentProvider) entity).getComponentContainer().tickServerComponents();
+        if (((TickingComponentEntity) entity).cca$hasServerTickingComponents()) {
+            ((ComponentProvider) entity).getComponentContainer().tickServerComponents();
+        }
     }
 
     @Inject(method = "tickPassenger", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;tickRiding()V", shift = At.Shift.AFTER))
     private void tickRiding(Entity vehicle, Entity passenger, CallbackInfo ci) {
-        ((ComponentProvider) passenger).getComponentContainer().tickServerComponents();
+        if (((TickingComponentEntity) passenger).cca$hasServerTickingComponents()) {
+            ((ComponentProvider) passenger).getComponentContainer().tickServerComponents();
+        }
     }
 }
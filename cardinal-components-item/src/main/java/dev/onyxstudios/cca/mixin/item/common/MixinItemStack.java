@@ -22,12 +22,11 @@
  */
 package dev.onyxstudios.cca.mixin.item.common;
 
-import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.item.ItemTagInvalidationListener;
 import dev.onyxstudios.cca.internal.base.AbstractComponentContainer;
+import dev.onyxstudios.cca.internal.base.ComponentVisitor;
 import dev.onyxstudios.cca.internal.item.ItemCaller;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
@@ -44,6 +43,12 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 public abstract class MixinItemStack implements ComponentProvider {
     @Unique
     private static final ComponentContainer EMPTY_COMPONENTS = ComponentContainer.EMPTY;
+    @Unique
+    private static final ComponentVisitor<@Nullable Void> INVALIDATION_VISITOR = (context, key, c) -> {
+        if (c instanceof ItemTagInvalidationListener listener) {
+            listener.onTagInvalidated();
+        }
+    };
 
     @Unique
     private @Nullable ComponentContainer components;
@@ -53,12 +58,7 @@ public abstract class MixinItemStack implements ComponentProvider {
         ComponentContainer components = this.components;
 
         if (components != null) {
-            for (ComponentKey<?> key : components.keys()) {
-                Component c = key.getInternal(components);
-                if (c instanceof ItemTagInvalidationListener listener) {
-                    listener.onTagInvalidated();
-                }
-            }
+            ((AbstractComponentContainer) components).forEachComponent(INVALIDATION_VISITOR, null);
         }
     }
 
@@ -22,41 +22,19 @@
  */
 package dev.onyxstudios.cca.internal.level;
 
-import dev.onyxstudios.cca.api.v3.component.Component;
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
-import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.CcaBaseClientNw;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
-import net.minecraft.network.PacketByteBuf;
-import net.minecraft.util.Identifier;
+
+import java.util.Objects;
 
 public final class CcaLevelClientNw {
     public static void initClient() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             ClientPlayNetworking.registerGlobalReceiver(ComponentsLevelNetworking.PACKET_ID, (client, handler, buffer, res) -> {
                 try {
-                    Identifier componentTypeId = buffer.readIdentifier();
-                    ComponentKey<?> componentKey = ComponentRegistry.get(componentTypeId);
-
-                    if (componentKey == null) {
-                        return;
-                    }
-
-                    PacketByteBuf copy = new PacketByteBuf(buffer.copy());
-                    client.execute(() -> {
-                        try {
-                            assert client.world != null;
-                            Component c = componentKey.get(client.world.getLevelProperties());
-
-                            if (c instanceof AutoSyncedComponent) {
-                                ((AutoSyncedComponent) c).applySyncPacket(copy);
-                            }
-                        } finally {
-                            copy.release();
-                        }
-                    });
+                    CcaBaseClientNw.applySyncPackets(client, buffer, () -> Objects.requireNonNull(client.world).getLevelProperties());
                 } catch (Exception e) {
                     ComponentsInternals.LOGGER.error("Error while reading world save components from network", e);
                     throw e;
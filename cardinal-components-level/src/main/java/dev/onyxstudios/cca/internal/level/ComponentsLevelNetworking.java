@@ -22,21 +22,20 @@
  */
 package dev.onyxstudios.cca.internal.level;
 
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.world.WorldSyncCallback;
+import dev.onyxstudios.cca.internal.base.ComponentsBaseNetworking;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
 import net.minecraft.util.Identifier;
-import net.minecraft.world.WorldProperties;
 
 public final class ComponentsLevelNetworking {
     /**
      * {@link CustomPayloadS2CPacket} channel for default level component synchronization.
      *
-     * <p> Packets emitted on this channel must begin with the
-     * {@link ComponentKey#getId() component's type} (as an Identifier).
+     * <p> Packets emitted on this channel must consist of one or more component entries
+     * (see {@link ComponentsBaseNetworking#KEY_TABLE_PACKET_ID}).
      *
      * <p> Components synchronized through this channel will have {@linkplain AutoSyncedComponent#applySyncPacket(PacketByteBuf)}
      * called on the game thread.
@@ -46,13 +45,7 @@ public final class ComponentsLevelNetworking {
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             if (FabricLoader.getInstance().isModLoaded("cardinal-components-world")) {
-                WorldSyncCallback.EVENT.register((player, world) -> {
-                    WorldProperties props = world.getLevelProperties();
-
-                    for (ComponentKey<?> key : props.getComponentContainer().keys()) {
-                        key.syncWith(player, props);
-                    }
-                });
+                WorldSyncCallback.EVENT.register((player, world) -> ComponentsBaseNetworking.syncAll(player, world.getLevelProperties()));
             }
         }
     }
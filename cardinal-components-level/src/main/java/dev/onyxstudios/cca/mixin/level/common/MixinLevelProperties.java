@@ -30,6 +30,7 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.internal.base.ComponentsBaseNetworking;
 import dev.onyxstudios.cca.internal.level.ComponentsLevelNetworking;
 import dev.onyxstudios.cca.internal.level.StaticLevelComponentPlugin;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
@@ -95,8 +96,20 @@ public abstract class MixinLevelProperties implements ServerWorldProperties, Com
     @Override
     public <C extends AutoSyncedComponent> CustomPayloadS2CPacket toComponentPacket(ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
         PacketByteBuf buf = PacketByteBufs.create();
-        buf.writeIdentifier(key.getId());
-        writer.writeSyncPacket(buf, recipient);
+        ComponentsBaseNetworking.writeComponent(buf, key, writer, recipient);
+        return new CustomPayloadS2CPacket(ComponentsLevelNetworking.PACKET_ID, buf);
+    }
+
+    @Nullable
+    @Override
+    public CustomPayloadS2CPacket toComponentPacket(ServerPlayerEntity recipient) {
+        PacketByteBuf buf = PacketByteBufs.create();
+
+        if (!ComponentsBaseNetworking.writeSyncedComponents(buf, this, recipient)) {
+            buf.release();
+            return null;
+        }
+
         return new CustomPayloadS2CPacket(ComponentsLevelNetworking.PACKET_ID, buf);
     }
 
@@ -22,10 +22,7 @@
  */
 package dev.onyxstudios.cca.internal.scoreboard;
 
-import dev.onyxstudios.cca.api.v3.component.Component;
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
-import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.CcaBaseClientNw;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
@@ -33,8 +30,6 @@ import net.minecraft.network.PacketByteBuf;
 import net.minecraft.scoreboard.Scoreboard;
 import net.minecraft.util.Identifier;
 
-import java.util.Optional;
-import java.util.function.BiFunction;
 import java.util.function.Function;
 
 public final class CcaScoreboardClientNw {
@@ -42,33 +37,19 @@ public final class CcaScoreboardClientNw {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             registerScoreboardSync(ComponentsScoreboardNetworking.TEAM_PACKET_ID, buf -> {
                 String teamName = buf.readString();
-                return (componentType, scoreboard) -> componentType.maybeGet(scoreboard.getTeam(teamName));
+                return scoreboard -> scoreboard.getTeam(teamName);
             });
             registerScoreboardSync(ComponentsScoreboardNetworking.SCOREBOARD_PACKET_ID,
-                buf -> ComponentKey::maybeGet
+                buf -> Function.identity()
             );
         }
     }
 
-    private static void registerScoreboardSync(Identifier packetId, Function<PacketByteBuf, BiFunction<ComponentKey<?>, Scoreboard, Optional<? extends Component>>> reader) {
+    private static void registerScoreboardSync(Identifier packetId, Function<PacketByteBuf, Function<Scoreboard, ?>> reader) {
         ClientPlayNetworking.registerGlobalReceiver(packetId, (client, handler, buffer, res) -> {
             try {
-                BiFunction<ComponentKey<?>, Scoreboard, Optional<? extends Component>> getter = reader.apply(buffer);
-                Identifier componentTypeId = buffer.readIdentifier();
-                ComponentKey<?> componentType = ComponentRegistry.get(componentTypeId);
-
-                if (componentType != null) {
-                    buffer.retain();
-                    client.execute(() -> {
-                        try {
-                            getter.apply(componentType, handler.getWorld().getScoreboard())
-                                .filter(c -> c instanceof AutoSyncedComponent)
-                                .ifPresent(c -> ((AutoSyncedComponent) c).applySyncPacket(buffer));
-                        } finally {
-                            buffer.release();
-                        }
-                    });
-                }
+                Function<Scoreboard, ?> getter = reader.apply(buffer);
+                CcaBaseClientNw.applySyncPackets(client, buffer, () -> getter.apply(handler.getWorld().getScoreboard()));
             } catch (Exception e) {
                 ComponentsInternals.LOGGER.error("Error while reading scoreboard components from network", e);
                 throw e;
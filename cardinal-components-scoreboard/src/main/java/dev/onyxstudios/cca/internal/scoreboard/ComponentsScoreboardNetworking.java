@@ -22,10 +22,10 @@
  */
 package dev.onyxstudios.cca.internal.scoreboard;
 
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.scoreboard.ScoreboardSyncCallback;
 import dev.onyxstudios.cca.api.v3.scoreboard.TeamAddCallback;
+import dev.onyxstudios.cca.internal.base.ComponentsBaseNetworking;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
@@ -36,7 +36,8 @@ public final class ComponentsScoreboardNetworking {
     /**
      * {@link CustomPayloadS2CPacket} channel for default scoreboard component synchronization.
      *
-     * <p> Packets emitted on this channel must begin with the {@link Identifier} for the component's type.
+     * <p> Packets emitted on this channel must consist of one or more component entries
+     * (see {@link ComponentsBaseNetworking#KEY_TABLE_PACKET_ID}).
      *
      * <p> Components synchronized through this channel will have {@linkplain AutoSyncedComponent#applySyncPacket(PacketByteBuf)}
      * called on the game thread.
@@ -46,7 +47,7 @@ public final class ComponentsScoreboardNetworking {
      * {@link CustomPayloadS2CPacket} channel for default team component synchronization.
      *
      * <p> Packets emitted on this channel must begin with, in order, the team's name as a {@link String},
-     * and the {@link Identifier} for the component's type.
+     * and one or more component entries (see {@link ComponentsBaseNetworking#KEY_TABLE_PACKET_ID}).
      *
      * <p> Components synchronized through this channel will have {@linkplain AutoSyncedComponent#applySyncPacket(PacketByteBuf)}
      * called on the game thread.
@@ -56,21 +57,13 @@ public final class ComponentsScoreboardNetworking {
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             ScoreboardSyncCallback.EVENT.register((player, tracked) -> {
-                for (ComponentKey<?> key : tracked.getComponentContainer().keys()) {
-                    key.syncWith(player, tracked);
-                }
+                ComponentsBaseNetworking.syncAll(player, tracked);
 
                 for (Team team : tracked.getTeams()) {
-                    for (ComponentKey<?> key : team.getComponentContainer().keys()) {
-                        key.syncWith(player, team);
-                    }
-                }
-            });
-            TeamAddCallback.EVENT.register((tracked) -> {
-                for (ComponentKey<?> key : tracked.getComponentContainer().keys()) {
-                    key.sync(tracked);
+                    ComponentsBaseNetworking.syncAll(player, team);
                 }
             });
+            TeamAddCallback.EVENT.register(ComponentsBaseNetworking::syncAll);
         }
     }
 }
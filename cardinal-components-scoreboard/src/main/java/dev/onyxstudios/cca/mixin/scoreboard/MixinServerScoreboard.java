@@ -26,6 +26,7 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
 import dev.onyxstudios.cca.api.v3.scoreboard.TeamAddCallback;
+import dev.onyxstudios.cca.internal.base.ComponentsBaseNetworking;
 import dev.onyxstudios.cca.internal.scoreboard.ComponentsScoreboardNetworking;
 import dev.onyxstudios.cca.internal.scoreboard.ScoreboardComponentContainerFactory;
 import dev.onyxstudios.cca.internal.scoreboard.StaticScoreboardComponentPlugin;
@@ -73,8 +74,20 @@ public abstract class MixinServerScoreboard extends MixinScoreboard {
     @Override
     public <C extends AutoSyncedComponent> CustomPayloadS2CPacket toComponentPacket(ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
         PacketByteBuf buf = PacketByteBufs.create();
-        buf.writeIdentifier(key.getId());
-        writer.writeSyncPacket(buf, recipient);
+        ComponentsBaseNetworking.writeComponent(buf, key, writer, recipient);
+        return new CustomPayloadS2CPacket(ComponentsScoreboardNetworking.SCOREBOARD_PACKET_ID, buf);
+    }
+
+    @Nullable
+    @Override
+    public CustomPayloadS2CPacket toComponentPacket(ServerPlayerEntity recipient) {
+        PacketByteBuf buf = PacketByteBufs.create();
+
+        if (!ComponentsBaseNetworking.writeSyncedComponents(buf, this, recipient)) {
+            buf.release();
+            return null;
+        }
+
         return new CustomPayloadS2CPacket(ComponentsScoreboardNetworking.SCOREBOARD_PACKET_ID, buf);
     }
 
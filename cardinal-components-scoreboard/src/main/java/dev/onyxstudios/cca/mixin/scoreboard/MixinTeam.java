@@ -27,6 +27,7 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.internal.base.ComponentsBaseNetworking;
 import dev.onyxstudios.cca.internal.scoreboard.ComponentsScoreboardNetworking;
 import dev.onyxstudios.cca.internal.scoreboard.StaticScoreboardComponentPlugin;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
@@ -81,11 +82,28 @@ public abstract class MixinTeam implements ComponentProvider, TeamAccessor {
     @Nullable
     @Override
     public <C extends AutoSyncedComponent> CustomPayloadS2CPacket toComponentPacket(ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
-        PacketByteBuf buf = PacketByteBufs.create();
-        buf.writeString(this.getName());
-        buf.writeIdentifier(key.getId());
-        writer.writeSyncPacket(buf, recipient);
+        PacketByteBuf buf = this.cca$createSyncPacketBuf();
+        ComponentsBaseNetworking.writeComponent(buf, key, writer, recipient);
         return new CustomPayloadS2CPacket(ComponentsScoreboardNetworking.TEAM_PACKET_ID, buf);
     }
 
+    @Nullable
+    @Override
+    public CustomPayloadS2CPacket toComponentPacket(ServerPlayerEntity recipient) {
+        PacketByteBuf buf = this.cca$createSyncPacketBuf();
+
+        if (!ComponentsBaseNetworking.writeSyncedComponents(buf, this, recipient)) {
+            buf.release();
+            return null;
+        }
+
+        return new CustomPayloadS2CPacket(ComponentsScoreboardNetworking.TEAM_PACKET_ID, buf);
+    }
+
+    @Unique
+    private PacketByteBuf cca$createSyncPacketBuf() {
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeString(this.getName());
+        return buf;
+    }
 }
@@ -22,38 +22,15 @@
  */
 package dev.onyxstudios.cca.internal.world;
 
-import dev.onyxstudios.cca.api.v3.component.Component;
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
-import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.CcaBaseClientNw;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
-import net.minecraft.util.Identifier;
 
 public final class CcaWorldClientNw {
     public static void initClient() {
         ClientPlayNetworking.registerGlobalReceiver(ComponentsWorldNetworking.PACKET_ID, (client, handler, buf, res) -> {
             try {
-                Identifier componentTypeId = buf.readIdentifier();
-                ComponentKey<?> componentType = ComponentRegistry.get(componentTypeId);
-
-                if (componentType == null) {
-                    return;
-                }
-
-                buf.retain();
-
-                client.execute(() -> {
-                    try {
-                        assert client.world != null;
-                        Component c = componentType.get(client.world);
-                        if (c instanceof AutoSyncedComponent) {
-                            ((AutoSyncedComponent) c).applySyncPacket(buf);
-                        }
-                    } finally {
-                        buf.release();
-                    }
-                });
+                CcaBaseClientNw.applySyncPackets(client, buf, () -> client.world);
             } catch (Exception e) {
                 ComponentsInternals.LOGGER.error("Error while reading world components from network", e);
                 throw e;
@@ -23,11 +23,41 @@
 package dev.onyxstudios.cca.internal.world;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.DirtyTrackingComponent;
+import dev.onyxstudios.cca.internal.base.ComponentsInternals;
+import dev.onyxstudios.cca.internal.base.SaveRevisionTracker;
+import net.minecraft.SharedConstants;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.util.Util;
 import net.minecraft.world.PersistentState;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Saves world components to their own file.
+ *
+ * <p>The file only gets written when the components changed since they were last saved, which can only be known
+ * if every component implements {@link DirtyTrackingComponent}. Otherwise, it gets written on every save.
+ *
+ * <p>Saving happens in two phases. Components get serialized on the server thread, then the compression
+ * and the file write happen on the IO worker executor. A save only waits for the previous write
+ * of the same file if it is still in progress.
+ */
 public class ComponentPersistentState extends PersistentState {
+    private static final Set<CompletableFuture<?>> pendingWrites = ConcurrentHashMap.newKeySet();
+
     private final ComponentContainer components;
+    private final SaveRevisionTracker saveTracker = new SaveRevisionTracker();
+    private CompletableFuture<?> pendingWrite = CompletableFuture.completedFuture(null);
 
     public ComponentPersistentState(ComponentContainer components) {
         super();
@@ -36,17 +66,64 @@ public class ComponentPersistentState extends PersistentState {
 
     @Override
     public boolean isDirty() {
-        return true;
+        return super.isDirty() || this.saveTracker.isDirty(this.components);
     }
 
     @Override
     public NbtCompound writeNbt(NbtCompound tag) {
+        // changes made after this point get saved next time
+        this.saveTracker.markSaved(this.components);
         return this.components.toTag(tag);
     }
 
+    @Override
+    public void save(File file) {
+        if (!this.isDirty()) return;
+
+        // writes of the same file must not be reordered
+        this.pendingWrite.join();
+
+        NbtCompound nbt = new NbtCompound();
+        nbt.put("data", this.writeNbt(new NbtCompound()));
+        nbt.putInt("DataVersion", SharedConstants.getGameVersion().getWorldVersion());
+        // components may have written references to their live NBT state, so only hand a copy to the writer
+        NbtCompound snapshot = nbt.copy();
+        this.setDirty(false);
+
+        CompletableFuture<?> write = CompletableFuture.runAsync(() -> writeAtomically(snapshot, file.toPath()), Util.getIoWorkerExecutor());
+        this.pendingWrite = write;
+        pendingWrites.add(write);
+        write.whenComplete((v, t) -> pendingWrites.remove(write));
+    }
+
+    /**
+     * Waits for every world component file write in progress, called when the server shuts down.
+     */
+    public static void awaitPendingWrites() {
+        for (CompletableFuture<?> write : pendingWrites) {
+            write.join();
+        }
+    }
+
+    private static void writeAtomically(NbtCompound nbt, Path file) {
+        try {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            NbtIo.writeCompressed(nbt, tmp.toFile());
+
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            ComponentsInternals.LOGGER.error("Could not save world component data {}", file, e);
+        }
+    }
+
     public static ComponentPersistentState fromNbt(ComponentContainer components, NbtCompound tag) {
         ComponentPersistentState state = new ComponentPersistentState(components);
         state.components.fromTag(tag);
+        state.saveTracker.markSaved(state.components);
         return state;
     }
 }
@@ -22,9 +22,9 @@
  */
 package dev.onyxstudios.cca.internal.world;
 
-import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.world.WorldSyncCallback;
+import dev.onyxstudios.cca.internal.base.ComponentsBaseNetworking;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.util.Identifier;
 
@@ -33,12 +33,7 @@ public final class ComponentsWorldNetworking {
 
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-v0")) {
-            WorldSyncCallback.EVENT.register((player, world) -> {
-                ComponentProvider provider = (ComponentProvider) world;
-                for (ComponentKey<?> key : provider.getComponentContainer().keys()) {
-                    key.syncWith(player, provider);
-                }
-            });
+            WorldSyncCallback.EVENT.register((player, world) -> ComponentsBaseNetworking.syncAll(player, (ComponentProvider) world));
         }
     }
 